@@ -0,0 +1,340 @@
+package ec.edu.espe.events;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of the contract events ({@link EventSchema#BINARY_CONTENT_TYPE}).
+ * Every body starts with the schema version byte, followed by the fields in this order:
+ * <pre>
+ * OrderCreated   orderId:uuid customerId:str correlationId:str createdAt:time
+ *                items:varint × (productId:uuid quantity:zigzag)
+ * StockReserved  orderId:uuid status:str correlationId:str orderCreatedAt:time timestamp:time
+ * StockRejected  orderId:uuid status:str reason:str correlationId:str orderCreatedAt:time timestamp:time
+ * </pre>
+ * {@code uuid} is 16 bytes, big-endian. {@code str} is a tag byte: 0 null, 1 a canonical
+ * lower-case UUID in 16 bytes, 2 a varint length plus UTF-8 bytes. {@code time} is a tag byte
+ * (0 null, 1 present), the UTC epoch second as a zigzag varint and the nanos as a varint.
+ * <p>
+ * Encoding reuses a per-thread buffer and allocates only the returned array. Malformed input
+ * throws {@link IllegalArgumentException}.
+ */
+public final class BinaryEventCodec {
+
+    private static final int NULL = 0;
+    private static final int PRESENT = 1;
+    private static final int UUID_STRING = 1;
+    private static final int UTF8_STRING = 2;
+    private static final int UUID_BYTES = 16;
+
+    private static final ThreadLocal<Writer> WRITER = ThreadLocal.withInitial(Writer::new);
+
+    private BinaryEventCodec() {
+    }
+
+    public static byte[] encode(Object event) {
+        Writer out = WRITER.get().reset();
+        out.writeByte(EventSchema.VERSION);
+        if (event instanceof OrderCreatedEvent created) {
+            out.writeUuid(required(created.getOrderId(), "orderId"));
+            out.writeString(created.getCustomerId());
+            out.writeString(created.getCorrelationId());
+            out.writeTime(created.getCreatedAt());
+            List<OrderItem> items = created.getItems() == null ? List.of() : created.getItems();
+            out.writeVarLong(items.size());
+            for (OrderItem item : items) {
+                out.writeUuid(required(item.getProductId(), "productId"));
+                out.writeVarLong(zigzag(required(item.getQuantity(), "quantity")));
+            }
+        } else if (event instanceof StockReservedEvent reserved) {
+            out.writeUuid(required(reserved.getOrderId(), "orderId"));
+            out.writeString(reserved.getStatus());
+            out.writeString(reserved.getCorrelationId());
+            out.writeTime(reserved.getOrderCreatedAt());
+            out.writeTime(reserved.getTimestamp());
+        } else if (event instanceof StockRejectedEvent rejected) {
+            out.writeUuid(required(rejected.getOrderId(), "orderId"));
+            out.writeString(rejected.getStatus());
+            out.writeString(rejected.getReason());
+            out.writeString(rejected.getCorrelationId());
+            out.writeTime(rejected.getOrderCreatedAt());
+            out.writeTime(rejected.getTimestamp());
+        } else {
+            throw new IllegalArgumentException("Not a contract event: " + (event == null ? null : event.getClass().getName()));
+        }
+        return out.toByteArray();
+    }
+
+    /** Decodes a body written by {@link #encode} for the given logical type ({@link EventSchema}). */
+    public static Object decode(String type, byte[] body) {
+        Reader in = new Reader(body);
+        int version = in.readByte();
+        if (version < 1 || version > EventSchema.VERSION) {
+            throw new IllegalArgumentException("Unsupported schema version " + version);
+        }
+        Object event;
+        if (EventSchema.ORDER_CREATED.equals(type)) {
+            OrderCreatedEvent created = new OrderCreatedEvent();
+            created.setOrderId(in.readUuid());
+            created.setCustomerId(in.readString());
+            created.setCorrelationId(in.readString());
+            created.setCreatedAt(in.readTime());
+            int count = in.readCount(UUID_BYTES + 1);
+            List<OrderItem> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(new OrderItem(in.readUuid(), unzigzag(in.readVarLong())));
+            }
+            created.setItems(items);
+            event = created;
+        } else if (EventSchema.STOCK_RESERVED.equals(type)) {
+            event = new StockReservedEvent(in.readUuid(), in.readString(), in.readString(), in.readTime(), in.readTime());
+        } else if (EventSchema.STOCK_REJECTED.equals(type)) {
+            event = new StockRejectedEvent(in.readUuid(), in.readString(), in.readString(), in.readString(),
+                    in.readTime(), in.readTime());
+        } else {
+            throw new IllegalArgumentException("Unknown event type: " + type);
+        }
+        if (in.remaining() != 0) {
+            throw new IllegalArgumentException(in.remaining() + " trailing bytes after " + type);
+        }
+        return event;
+    }
+
+    private static <T> T required(T value, String field) {
+        if (value == null) {
+            throw new IllegalArgumentException(field + " is required");
+        }
+        return value;
+    }
+
+    private static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private static int unzigzag(long value) {
+        if (value >>> 32 != 0) {
+            throw new IllegalArgumentException("Quantity out of range");
+        }
+        int encoded = (int) value;
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    private static long zigzagLong(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzagLong(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Parses the canonical lower-case form only, so that decoding gives back the same string. */
+    private static UUID parseCanonicalUuid(String value) {
+        if (value.length() != 36) {
+            return null;
+        }
+        long msb = 0;
+        long lsb = 0;
+        int nibbles = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return null;
+                }
+                continue;
+            }
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else {
+                return null;
+            }
+            if (nibbles++ < 16) {
+                msb = (msb << 4) | digit;
+            } else {
+                lsb = (lsb << 4) | digit;
+            }
+        }
+        return new UUID(msb, lsb);
+    }
+
+    private static final class Writer {
+
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        Writer reset() {
+            length = 0;
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[length++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void writeUuid(UUID value) {
+            writeLong(value.getMostSignificantBits());
+            writeLong(value.getLeastSignificantBits());
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeByte(NULL);
+                return;
+            }
+            UUID uuid = parseCanonicalUuid(value);
+            if (uuid != null) {
+                writeByte(UUID_STRING);
+                writeUuid(uuid);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeByte(UTF8_STRING);
+            writeVarLong(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+
+        void writeTime(LocalDateTime value) {
+            if (value == null) {
+                writeByte(NULL);
+                return;
+            }
+            writeByte(PRESENT);
+            writeVarLong(zigzagLong(value.toEpochSecond(ZoneOffset.UTC)));
+            writeVarLong(value.getNano());
+        }
+
+        private void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int remaining() {
+            return bytes.length - position;
+        }
+
+        int readByte() {
+            require(1);
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        /** Element count, checked against the bytes left so a corrupt body cannot allocate a huge list. */
+        int readCount(int minElementBytes) {
+            long count = readVarLong();
+            if (count < 0 || count > remaining() / minElementBytes) {
+                throw new IllegalArgumentException("Invalid element count " + count);
+            }
+            return (int) count;
+        }
+
+        UUID readUuid() {
+            return new UUID(readLong(), readLong());
+        }
+
+        String readString() {
+            int tag = readByte();
+            if (tag == NULL) {
+                return null;
+            }
+            if (tag == UUID_STRING) {
+                return readUuid().toString();
+            }
+            if (tag == UTF8_STRING) {
+                int length = readCount(1);
+                String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+                position += length;
+                return value;
+            }
+            throw new IllegalArgumentException("Unknown string tag " + tag);
+        }
+
+        LocalDateTime readTime() {
+            int tag = readByte();
+            if (tag == NULL) {
+                return null;
+            }
+            if (tag != PRESENT) {
+                throw new IllegalArgumentException("Unknown time tag " + tag);
+            }
+            long epochSecond = unzigzagLong(readVarLong());
+            long nanos = readVarLong();
+            if (nanos < 0 || nanos > 999_999_999) {
+                throw new IllegalArgumentException("Invalid nanos " + nanos);
+            }
+            try {
+                return LocalDateTime.ofEpochSecond(epochSecond, (int) nanos, ZoneOffset.UTC);
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Invalid timestamp", e);
+            }
+        }
+
+        private long readLong() {
+            require(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private void require(int count) {
+            if (remaining() < count) {
+                throw new IllegalArgumentException("Truncated event body");
+            }
+        }
+    }
+}
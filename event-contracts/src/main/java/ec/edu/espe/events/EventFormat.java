@@ -0,0 +1,7 @@
+package ec.edu.espe.events;
+
+/** Encoding a producer publishes the contract events in. Consumers read both. */
+public enum EventFormat {
+    JSON,
+    BINARY
+}
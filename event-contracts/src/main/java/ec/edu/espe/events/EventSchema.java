@@ -0,0 +1,77 @@
+package ec.edu.espe.events;
+
+/**
+ * Versioning and naming of the events exchanged by order-service and inventory-service.
+ * <p>
+ * The schema version travels in the content type ({@code application/json; version=1},
+ * {@code application/vnd.espe.event+binary; version=1}) so both outboxes keep it, and in the
+ * first byte of a binary body. Adding a field is compatible for JSON only: any change to an
+ * event bumps {@link #VERSION}, and consumers are deployed first since they reject versions
+ * newer than their own.
+ */
+public final class EventSchema {
+
+    /** Version this build writes and the newest it reads. */
+    public static final int VERSION = 1;
+
+    // Logical event types (__TypeId__ header)
+    public static final String ORDER_CREATED = "OrderCreated";
+    public static final String STOCK_RESERVED = "StockReserved";
+    public static final String STOCK_REJECTED = "StockRejected";
+
+    public static final String JSON_MEDIA_TYPE = "application/json";
+    public static final String BINARY_MEDIA_TYPE = "application/vnd.espe.event+binary";
+    public static final String JSON_CONTENT_TYPE = JSON_MEDIA_TYPE + "; version=" + VERSION;
+    public static final String BINARY_CONTENT_TYPE = BINARY_MEDIA_TYPE + "; version=" + VERSION;
+
+    private static final String VERSION_PARAMETER = "version=";
+
+    private EventSchema() {
+    }
+
+    /** Logical type of a contract event, or {@code null} for any other object. */
+    public static String typeOf(Object event) {
+        return event == null ? null : typeOf(event.getClass());
+    }
+
+    public static String typeOf(Class<?> eventClass) {
+        if (eventClass == OrderCreatedEvent.class) {
+            return ORDER_CREATED;
+        }
+        if (eventClass == StockReservedEvent.class) {
+            return STOCK_RESERVED;
+        }
+        if (eventClass == StockRejectedEvent.class) {
+            return STOCK_REJECTED;
+        }
+        return null;
+    }
+
+    public static boolean isBinary(String contentType) {
+        return contentType != null && contentType.regionMatches(true, 0, BINARY_MEDIA_TYPE, 0, BINARY_MEDIA_TYPE.length());
+    }
+
+    /**
+     * Schema version declared by a content type. Messages from producers that predate
+     * versioning carry none and are version 1.
+     */
+    public static int versionOf(String contentType) {
+        if (contentType == null) {
+            return 1;
+        }
+        int start = contentType.indexOf(VERSION_PARAMETER);
+        if (start < 0) {
+            return 1;
+        }
+        int end = start + VERSION_PARAMETER.length();
+        int version = 0;
+        while (end < contentType.length() && Character.isDigit(contentType.charAt(end))) {
+            version = version * 10 + (contentType.charAt(end++) - '0');
+        }
+        int digits = end - start - VERSION_PARAMETER.length();
+        if (digits == 0 || digits > 9) {
+            throw new IllegalArgumentException("Malformed schema version in content type: " + contentType);
+        }
+        return version;
+    }
+}
@@ -0,0 +1,28 @@
+package ec.edu.espe.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/** Published by order-service when an order is stored; consumed by inventory-service. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCreatedEvent {
+    private UUID orderId;
+    private String customerId;
+    private List<OrderItem> items;
+    // Echoed back in StockReserved/StockRejected for end-to-end latency
+    private String correlationId;
+    private LocalDateTime createdAt;
+
+    public OrderCreatedEvent(UUID orderId, String customerId, List<OrderItem> items) {
+        this(orderId, customerId, items, null, null);
+    }
+}
@@ -1,4 +1,4 @@
-package ec.edu.espe.inventory.dto;
+package ec.edu.espe.events;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -0,0 +1,32 @@
+package ec.edu.espe.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** Published by inventory-service when an order could not be reserved. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockRejectedEvent {
+    public static final String STATUS = "REJECTED";
+
+    private UUID orderId;
+    private String status = STATUS;
+    private String reason;
+    private String correlationId;
+    private LocalDateTime orderCreatedAt;
+    private LocalDateTime timestamp;
+
+    public StockRejectedEvent(UUID orderId, String reason) {
+        this(orderId, reason, null, null);
+    }
+
+    /** With the correlationId and creation time of the OrderCreated it answers. */
+    public StockRejectedEvent(UUID orderId, String reason, String correlationId, LocalDateTime orderCreatedAt) {
+        this(orderId, STATUS, reason, correlationId, orderCreatedAt, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,31 @@
+package ec.edu.espe.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** Published by inventory-service when every item of an order was reserved. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservedEvent {
+    public static final String STATUS = "RESERVED";
+
+    private UUID orderId;
+    private String status = STATUS;
+    private String correlationId;
+    private LocalDateTime orderCreatedAt;
+    private LocalDateTime timestamp;
+
+    public StockReservedEvent(UUID orderId) {
+        this(orderId, null, null);
+    }
+
+    /** With the correlationId and creation time of the OrderCreated it answers. */
+    public StockReservedEvent(UUID orderId, String correlationId, LocalDateTime orderCreatedAt) {
+        this(orderId, STATUS, correlationId, orderCreatedAt, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,88 @@
+package ec.edu.espe.events.amqp;
+
+import ec.edu.espe.events.BinaryEventCodec;
+import ec.edu.espe.events.EventFormat;
+import ec.edu.espe.events.EventSchema;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.DefaultJacksonJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Picks the event encoding by content type. Contract events are written in the configured
+ * {@link EventFormat} with a versioned content type; bodies of either format are read back, so
+ * consumers are upgraded first and producers switched to binary afterwards. Anything else
+ * (other event types, JSON bodies) goes through the JSON converter.
+ */
+public class EventMessageConverter implements MessageConverter {
+
+    private static final String TYPE_ID = DefaultJacksonJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME;
+
+    private final MessageConverter jsonConverter;
+    private final EventFormat format;
+
+    public EventMessageConverter(MessageConverter jsonConverter, EventFormat format) {
+        this.jsonConverter = jsonConverter;
+        this.format = format;
+    }
+
+    public EventFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        String type = EventSchema.typeOf(object);
+        if (type == null) {
+            return jsonConverter.toMessage(object, messageProperties);
+        }
+        if (format == EventFormat.BINARY) {
+            byte[] body = BinaryEventCodec.encode(object);
+            messageProperties.setContentType(EventSchema.BINARY_CONTENT_TYPE);
+            messageProperties.setContentLength(body.length);
+            messageProperties.setHeader(TYPE_ID, type);
+            return new Message(body, messageProperties);
+        }
+        Message message = jsonConverter.toMessage(object, messageProperties);
+        message.getMessageProperties().setContentType(EventSchema.JSON_CONTENT_TYPE);
+        return message;
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        String contentType = properties.getContentType();
+        int version;
+        try {
+            version = EventSchema.versionOf(contentType);
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException(e.getMessage(), e);
+        }
+        if (version > EventSchema.VERSION) {
+            throw new MessageConversionException("Unsupported event schema version " + version
+                    + " (newest supported: " + EventSchema.VERSION + ")");
+        }
+        if (!EventSchema.isBinary(contentType)) {
+            return jsonConverter.fromMessage(message);
+        }
+        String type = typeOf(properties);
+        try {
+            return BinaryEventCodec.decode(type, message.getBody());
+        } catch (IllegalArgumentException e) {
+            throw new MessageConversionException("Unreadable binary " + type + " event: " + e.getMessage(), e);
+        }
+    }
+
+    // __TypeId__, or the listener parameter type when a producer left the header out
+    private static String typeOf(MessageProperties properties) {
+        Object typeId = properties.getHeader(TYPE_ID);
+        if (typeId != null) {
+            return typeId.toString();
+        }
+        Type inferred = properties.getInferredArgumentType();
+        return inferred instanceof Class<?> eventClass ? EventSchema.typeOf(eventClass) : null;
+    }
+}
@@ -0,0 +1,24 @@
+package ec.edu.espe.events.outbox;
+
+/**
+ * A stored event as {@link OutboxRelay} publishes it. Each service's outbox entity implements
+ * it (the Lombok getters match).
+ */
+public interface OutboxRecord {
+
+    Long getId();
+
+    /** AMQP messageId, stable across relay retries. */
+    String getMessageId();
+
+    String getExchange();
+
+    String getRoutingKey();
+
+    /** {@code __TypeId__} header, if the converter set one. */
+    String getTypeId();
+
+    String getContentType();
+
+    byte[] getPayload();
+}
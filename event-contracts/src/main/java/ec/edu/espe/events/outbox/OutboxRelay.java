@@ -0,0 +1,153 @@
+package ec.edu.espe.events.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.DefaultJacksonJavaTypeMapper;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes pending outbox messages in batches. Each batch goes through one channel with
+ * publisher confirms and is marked sent only when the broker confirmed all of it. On failure
+ * the transaction rolls back and the batch is retried on the next pass, so a message may be
+ * delivered more than once (with the same messageId). Both services run this relay over their own
+ * outbox table.
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxStore<? extends OutboxRecord> outboxStore;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSettings properties;
+    private final ThreadFactory threadFactory;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public OutboxRelay(OutboxStore<? extends OutboxRecord> outboxStore, RabbitTemplate rabbitTemplate,
+                       TransactionTemplate transactionTemplate, OutboxSettings properties,
+                       ThreadFactory threadFactory) {
+        this.outboxStore = outboxStore;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.threadFactory = threadFactory;
+    }
+
+    /** Requests an immediate pass; calls made while one is pending are coalesced. */
+    public void wakeUp() {
+        if (running && wakeUpPending.compareAndSet(false, true)) {
+            scheduler.execute(this::drainSafely);
+        }
+    }
+
+    /** Publishes one batch and returns how many messages were sent. */
+    public int relayBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<? extends OutboxRecord> batch = outboxStore.findBySentAtIsNullOrderByIdAsc(Limit.of(properties.getBatchSize()));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            rabbitTemplate.invoke(operations -> {
+                for (OutboxRecord outboxMessage : batch) {
+                    operations.send(outboxMessage.getExchange(), outboxMessage.getRoutingKey(), toMessage(outboxMessage));
+                }
+                operations.waitForConfirmsOrDie(properties.getConfirmTimeout().toMillis());
+                return null;
+            });
+            outboxStore.markSent(batch.stream().map(OutboxRecord::getId).toList(), LocalDateTime.now());
+            return batch.size();
+        });
+        return sent == null ? 0 : sent;
+    }
+
+    public int purgeSent() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxStore.deleteSentBefore(LocalDateTime.now().minus(properties.getRetention())));
+        return deleted == null ? 0 : deleted;
+    }
+
+    private static Message toMessage(OutboxRecord outboxMessage) {
+        MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setMessageId(outboxMessage.getMessageId());
+        messageProperties.setContentType(outboxMessage.getContentType());
+        messageProperties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        // Publish time, not the outbox row's: consumers measure queue-to-ack latency from it
+        messageProperties.setTimestamp(new Date());
+        if (outboxMessage.getTypeId() != null) {
+            messageProperties.setHeader(DefaultJacksonJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, outboxMessage.getTypeId());
+        }
+        return new Message(outboxMessage.getPayload(), messageProperties);
+    }
+
+    private void drainSafely() {
+        wakeUpPending.set(false);
+        try {
+            int sent;
+            do {
+                sent = relayBatch();
+                if (sent > 0) {
+                    log.debug("Outbox relay published {} messages", sent);
+                }
+            } while (sent == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed, pending messages will be retried", e);
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            int deleted = purgeSent();
+            if (deleted > 0) {
+                log.debug("Outbox purged {} sent messages", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.error("Outbox purge failed", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = properties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::drainSafely, interval, interval, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purgeSafely, 1, 1, TimeUnit.MINUTES);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return properties.isAutoStartup();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
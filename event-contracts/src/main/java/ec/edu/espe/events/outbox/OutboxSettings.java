@@ -0,0 +1,23 @@
+package ec.edu.espe.events.outbox;
+
+import java.time.Duration;
+
+/**
+ * Relay settings; implemented by each service's outbox configuration properties.
+ */
+public interface OutboxSettings {
+
+    /** Start the relay with the context (the benchmarks turn it off). */
+    boolean isAutoStartup();
+
+    /** Messages per batch (one confirm wait per batch). */
+    int getBatchSize();
+
+    /** Fallback pass in case an after-commit wake-up is missed. */
+    Duration getPollInterval();
+
+    Duration getConfirmTimeout();
+
+    /** How long sent messages are kept. */
+    Duration getRetention();
+}
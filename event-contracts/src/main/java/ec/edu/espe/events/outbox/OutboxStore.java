@@ -0,0 +1,21 @@
+package ec.edu.espe.events.outbox;
+
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Outbox table operations used by {@link OutboxRelay}. The services' Spring Data repositories
+ * extend it, so the method names are derived or annotated queries there.
+ */
+public interface OutboxStore<M extends OutboxRecord> {
+
+    /** Oldest pending messages, locked so relays on several instances pick disjoint batches. */
+    List<M> findBySentAtIsNullOrderByIdAsc(Limit limit);
+
+    int markSent(Collection<Long> ids, LocalDateTime sentAt);
+
+    int deleteSentBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,74 @@
+package ec.edu.espe.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryEventCodecTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 21, 15, 10, 2, 123_456_000);
+
+    @Test
+    void orderCreatedRoundTrips() {
+        OrderCreatedEvent event = OrderCreatedEvent.builder()
+                .orderId(UUID.randomUUID())
+                .customerId("customer-42 ñ")
+                .correlationId(UUID.randomUUID().toString())
+                .createdAt(CREATED_AT)
+                .items(List.of(new OrderItem(UUID.randomUUID(), 2), new OrderItem(UUID.randomUUID(), -3)))
+                .build();
+
+        byte[] body = BinaryEventCodec.encode(event);
+
+        assertThat(body[0]).isEqualTo((byte) EventSchema.VERSION);
+        assertThat(BinaryEventCodec.decode(EventSchema.ORDER_CREATED, body)).isEqualTo(event);
+    }
+
+    @Test
+    void stockResultsRoundTripWithNullFields() {
+        StockReservedEvent reserved = new StockReservedEvent(UUID.randomUUID());
+        StockRejectedEvent rejected = new StockRejectedEvent(UUID.randomUUID(), "Insufficient stock for product "
+                + UUID.randomUUID(), UUID.randomUUID().toString(), CREATED_AT);
+
+        assertThat(BinaryEventCodec.decode(EventSchema.STOCK_RESERVED, BinaryEventCodec.encode(reserved)))
+                .isEqualTo(reserved);
+        assertThat(BinaryEventCodec.decode(EventSchema.STOCK_REJECTED, BinaryEventCodec.encode(rejected)))
+                .isEqualTo(rejected);
+    }
+
+    @Test
+    void canonicalUuidStringsTakeSixteenBytes() {
+        String canonical = UUID.randomUUID().toString();
+        OrderCreatedEvent withUuid = new OrderCreatedEvent(UUID.randomUUID(), canonical, List.of());
+        OrderCreatedEvent withUpperCase = new OrderCreatedEvent(UUID.randomUUID(), canonical.toUpperCase(), List.of());
+
+        byte[] compact = BinaryEventCodec.encode(withUuid);
+        byte[] text = BinaryEventCodec.encode(withUpperCase);
+
+        // version + orderId + (tag + 16) + null correlationId + null createdAt + item count
+        assertThat(compact).hasSize(1 + 16 + 17 + 1 + 1 + 1);
+        // Not canonical: kept as text so it decodes to the same string
+        assertThat(BinaryEventCodec.decode(EventSchema.ORDER_CREATED, text)).isEqualTo(withUpperCase);
+    }
+
+    @Test
+    void rejectsNewerVersionsAndCorruptBodies() {
+        byte[] body = BinaryEventCodec.encode(new StockReservedEvent(UUID.randomUUID()));
+
+        byte[] newer = body.clone();
+        newer[0] = (byte) (EventSchema.VERSION + 1);
+        assertThatThrownBy(() -> BinaryEventCodec.decode(EventSchema.STOCK_RESERVED, newer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+        assertThatThrownBy(() -> BinaryEventCodec.decode(EventSchema.STOCK_RESERVED, Arrays.copyOf(body, body.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BinaryEventCodec.decode(EventSchema.ORDER_CREATED, body))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
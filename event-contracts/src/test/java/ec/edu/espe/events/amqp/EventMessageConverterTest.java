@@ -0,0 +1,87 @@
+package ec.edu.espe.events.amqp;
+
+import ec.edu.espe.events.EventFormat;
+import ec.edu.espe.events.EventSchema;
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.events.StockReservedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.DefaultJacksonJavaTypeMapper;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventMessageConverterTest {
+
+    private final JacksonJsonMessageConverter json = jsonConverter();
+    private final EventMessageConverter binaryProducer = new EventMessageConverter(json, EventFormat.BINARY);
+    private final EventMessageConverter jsonProducer = new EventMessageConverter(json, EventFormat.JSON);
+
+    private final OrderCreatedEvent event = new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID().toString(),
+            List.of(new OrderItem(UUID.randomUUID(), 2)), UUID.randomUUID().toString(), LocalDateTime.now());
+
+    @Test
+    void binaryIsSmallerAndReadByEitherSide() {
+        Message binary = binaryProducer.toMessage(event, new MessageProperties());
+        Message text = jsonProducer.toMessage(event, new MessageProperties());
+
+        assertThat(binary.getMessageProperties().getContentType()).isEqualTo(EventSchema.BINARY_CONTENT_TYPE);
+        assertThat(text.getMessageProperties().getContentType()).isEqualTo(EventSchema.JSON_CONTENT_TYPE);
+        assertThat(binary.getBody().length).isLessThan(text.getBody().length / 2);
+        assertThat(jsonProducer.fromMessage(binary)).isEqualTo(event);
+        assertThat(binaryProducer.fromMessage(text)).isEqualTo(event);
+    }
+
+    @Test
+    void readsUnversionedJsonFromOlderProducers() {
+        Message legacy = json.toMessage(event, new MessageProperties());
+
+        assertThat(legacy.getMessageProperties().getContentType()).isEqualTo(MessageProperties.CONTENT_TYPE_JSON);
+        assertThat(binaryProducer.fromMessage(legacy)).isEqualTo(event);
+    }
+
+    @Test
+    void versionedJsonStaysReadableByPlainJsonConsumers() {
+        Message text = jsonProducer.toMessage(new StockReservedEvent(UUID.randomUUID()), new MessageProperties());
+
+        assertThat(json.fromMessage(text)).isInstanceOf(StockReservedEvent.class);
+    }
+
+    @Test
+    void rejectsNewerSchemaVersions() {
+        Message binary = binaryProducer.toMessage(event, new MessageProperties());
+        binary.getMessageProperties().setContentType(EventSchema.BINARY_MEDIA_TYPE + "; version=" + (EventSchema.VERSION + 1));
+
+        assertThatThrownBy(() -> binaryProducer.fromMessage(binary))
+                .isInstanceOf(MessageConversionException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void usesTheInferredTypeWithoutTypeIdHeader() {
+        Message binary = binaryProducer.toMessage(event, new MessageProperties());
+        binary.getMessageProperties().getHeaders().remove(DefaultJacksonJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+        binary.getMessageProperties().setInferredArgumentType(OrderCreatedEvent.class);
+
+        assertThat(binaryProducer.fromMessage(binary)).isEqualTo(event);
+    }
+
+    private static JacksonJsonMessageConverter jsonConverter() {
+        DefaultJacksonJavaTypeMapper typeMapper = new DefaultJacksonJavaTypeMapper();
+        typeMapper.setIdClassMapping(Map.of(
+                EventSchema.ORDER_CREATED, OrderCreatedEvent.class,
+                EventSchema.STOCK_RESERVED, StockReservedEvent.class));
+        JacksonJsonMessageConverter converter = new JacksonJsonMessageConverter();
+        converter.setJavaTypeMapper(typeMapper);
+        return converter;
+    }
+}
@@ -0,0 +1,90 @@
+package ec.edu.espe.events.outbox;
+
+import lombok.Data;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    @SuppressWarnings("unchecked")
+    private final OutboxStore<TestMessage> store = mock(OutboxStore.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations channel = mock(RabbitOperations.class);
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(store, rabbitTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new TestSettings(),
+                Thread.ofPlatform().factory());
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(channel));
+        when(store.findBySentAtIsNullOrderByIdAsc(any(Limit.class)))
+                .thenReturn(List.of(message(1L), message(2L)));
+    }
+
+    @Test
+    void marksBatchSentAfterBrokerConfirms() {
+        assertThat(relay.relayBatch()).isEqualTo(2);
+
+        verify(channel, times(2)).send(eq("orders.exchange"), eq("stock.reserved"), any(Message.class));
+        verify(store).markSent(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void leavesBatchPendingWhenConfirmsFail() {
+        doThrow(new AmqpException("nack")).when(channel).waitForConfirmsOrDie(anyLong());
+
+        assertThatThrownBy(relay::relayBatch).isInstanceOf(AmqpException.class);
+
+        verify(store, never()).markSent(any(), any());
+    }
+
+    private static TestMessage message(long id) {
+        TestMessage message = new TestMessage();
+        message.setId(id);
+        message.setMessageId(UUID.randomUUID().toString());
+        message.setExchange("orders.exchange");
+        message.setRoutingKey("stock.reserved");
+        message.setContentType("application/json");
+        message.setPayload("{}".getBytes());
+        return message;
+    }
+
+    @Data
+    private static class TestMessage implements OutboxRecord {
+        private Long id;
+        private String messageId;
+        private String exchange;
+        private String routingKey;
+        private String typeId;
+        private String contentType;
+        private byte[] payload;
+    }
+
+    @Data
+    private static class TestSettings implements OutboxSettings {
+        private boolean autoStartup = true;
+        private int batchSize = 100;
+        private Duration pollInterval = Duration.ofMillis(500);
+        private Duration confirmTimeout = Duration.ofSeconds(5);
+        private Duration retention = Duration.ofHours(1);
+    }
+}
@@ -0,0 +1,60 @@
+package ec.edu.espe.inventory.benchmark;
+
+import ec.edu.espe.inventory.InventoryServiceApplication;
+import ec.edu.espe.inventory.model.ProductStock;
+import ec.edu.espe.inventory.repository.ProductStockRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Levanta el servicio para los benchmarks sin infraestructura externa: H2 en memoria
+ * (modo PostgreSQL) y los listeners de RabbitMQ detenidos. Con
+ * {@code -Dbench.datasource.url=jdbc:postgresql://...} se usa una base PostgreSQL real.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> props = new HashMap<>();
+        String url = System.getProperty("bench.datasource.url");
+        if (url == null) {
+            props.put("spring.datasource.url",
+                    "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=30000");
+            props.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            props.put("spring.datasource.username", "sa");
+            props.put("spring.datasource.password", "");
+            props.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        } else {
+            props.put("spring.datasource.url", url);
+        }
+        props.put("spring.datasource.hikari.maximum-pool-size", 16);
+        props.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        props.put("spring.jpa.show-sql", false);
+        props.put("spring.sql.init.mode", "never");
+        props.put("spring.rabbitmq.listener.simple.auto-startup", false);
+        props.put("spring.rabbitmq.listener.direct.auto-startup", false);
+        props.put("spring.main.banner-mode", "off");
+        props.put("logging.level.root", "WARN");
+        props.put("logging.level.ec.edu.espe.inventory", "WARN");
+        props.put("logging.level.org.springframework.amqp", "WARN");
+        props.putAll(overrides);
+
+        // Como argumentos de línea de comandos para que tengan prioridad sobre application.properties
+        String[] args = props.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(InventoryServiceApplication.class).run(args);
+    }
+
+    static void seed(ConfigurableApplicationContext context, UUID productId, int availableStock) {
+        ProductStockRepository repository = context.getBean(ProductStockRepository.class);
+        repository.save(new ProductStock(productId, availableStock, 0, LocalDateTime.now()));
+    }
+}
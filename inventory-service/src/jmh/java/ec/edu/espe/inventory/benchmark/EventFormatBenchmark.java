@@ -0,0 +1,91 @@
+package ec.edu.espe.inventory.benchmark;
+
+import ec.edu.espe.events.EventFormat;
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.events.StockRejectedEvent;
+import ec.edu.espe.events.StockReservedEvent;
+import ec.edu.espe.events.amqp.EventMessageConverter;
+import ec.edu.espe.inventory.config.RabbitMQConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contrato de eventos en JSON (el converter Jackson de siempre) contra la codificación binaria:
+ * escribir y leer cada evento con el EventMessageConverter que usan los servicios. El tamaño de
+ * cada cuerpo se imprime al iniciar cada trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventFormatBenchmark {
+
+    @Param({"json", "binary"})
+    private String format;
+
+    private EventMessageConverter converter;
+    private OrderCreatedEvent orderCreated;
+    private StockReservedEvent stockReserved;
+    private StockRejectedEvent stockRejected;
+    private Message orderCreatedMessage;
+    private Message stockReservedMessage;
+    private Message stockRejectedMessage;
+
+    @Setup
+    public void setUp() {
+        converter = new EventMessageConverter(new RabbitMQConfig().jsonMessageConverter(),
+                EventFormat.valueOf(format.toUpperCase()));
+        LocalDateTime createdAt = LocalDateTime.now();
+        String correlationId = UUID.randomUUID().toString();
+        orderCreated = new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID().toString(), List.of(
+                new OrderItem(UUID.randomUUID(), 2),
+                new OrderItem(UUID.randomUUID(), 1),
+                new OrderItem(UUID.randomUUID(), 5)), correlationId, createdAt);
+        stockReserved = new StockReservedEvent(orderCreated.getOrderId(), correlationId, createdAt);
+        stockRejected = new StockRejectedEvent(orderCreated.getOrderId(),
+                "Insufficient stock for product " + UUID.randomUUID(), correlationId, createdAt);
+
+        orderCreatedMessage = converter.toMessage(orderCreated, new MessageProperties());
+        stockReservedMessage = converter.toMessage(stockReserved, new MessageProperties());
+        stockRejectedMessage = converter.toMessage(stockRejected, new MessageProperties());
+        System.out.printf("%n%s: OrderCreated=%d bytes, StockReserved=%d bytes, StockRejected=%d bytes%n", format,
+                orderCreatedMessage.getBody().length, stockReservedMessage.getBody().length,
+                stockRejectedMessage.getBody().length);
+    }
+
+    @Benchmark
+    public Message writeOrderCreated() {
+        return converter.toMessage(orderCreated, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object readOrderCreated() {
+        return converter.fromMessage(orderCreatedMessage);
+    }
+
+    @Benchmark
+    public Message writeStockReserved() {
+        return converter.toMessage(stockReserved, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object readStockReserved() {
+        return converter.fromMessage(stockReservedMessage);
+    }
+
+    @Benchmark
+    public Message writeStockRejected() {
+        return converter.toMessage(stockRejected, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object readStockRejected() {
+        return converter.fromMessage(stockRejectedMessage);
+    }
+}
@@ -0,0 +1,74 @@
+package ec.edu.espe.inventory.benchmark;
+
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.StockRejectedEvent;
+import ec.edu.espe.events.StockReservedEvent;
+import ec.edu.espe.inventory.config.RabbitMQConfig;
+import ec.edu.espe.inventory.messaging.EventCodec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del MessageConverter de RabbitMQConfig: leer un OrderCreated tal como lo publica
+ * order-service y escribir el StockReserved/StockRejected de respuesta, contra el EventCodec
+ * del modo de publicación confirming.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventSerializationBenchmark {
+
+    private static final String ORDER_CREATED_JSON = """
+            {"eventType":"OrderCreated","orderId":"0d3f6b7c-9a8e-4c12-8f67-5e0c2a1b9d34",\
+            "correlationId":"5b1c3d2e-7f8a-4b9c-8d0e-1f2a3b4c5d6e","createdAt":"2026-01-21T15:10:02",\
+            "items":[{"productId":"a3c2b1d0-6b0e-4f2b-9c1a-2d3f4a5b6c7d","quantity":2},\
+            {"productId":"b7e8c9d1-2f3a-4b5c-8d9e-1a2b3c4d5e6f","quantity":1},\
+            {"productId":"c1d2e3f4-5a6b-7c8d-9e0f-1a2b3c4d5e6f","quantity":5}]}""";
+
+    private JacksonJsonMessageConverter converter;
+    private Message orderCreated;
+    private StockReservedEvent stockReserved;
+    private StockRejectedEvent stockRejected;
+
+    @Setup
+    public void setUp() {
+        converter = (JacksonJsonMessageConverter) new RabbitMQConfig().jsonMessageConverter();
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setInferredArgumentType(OrderCreatedEvent.class);
+        orderCreated = new Message(ORDER_CREATED_JSON.getBytes(StandardCharsets.UTF_8), properties);
+        stockReserved = new StockReservedEvent(UUID.randomUUID());
+        stockRejected = new StockRejectedEvent(UUID.randomUUID(), "Insufficient stock for product " + UUID.randomUUID());
+    }
+
+    @Benchmark
+    public Object readOrderCreated() {
+        return converter.fromMessage(orderCreated);
+    }
+
+    @Benchmark
+    public Message writeStockReserved() {
+        return converter.toMessage(stockReserved, new MessageProperties());
+    }
+
+    @Benchmark
+    public EventCodec.Encoded writeStockReservedCodec() {
+        return EventCodec.encode(stockReserved);
+    }
+
+    @Benchmark
+    public Message writeStockRejected() {
+        return converter.toMessage(stockRejected, new MessageProperties());
+    }
+
+    @Benchmark
+    public EventCodec.Encoded writeStockRejectedCodec() {
+        return EventCodec.encode(stockRejected);
+    }
+}
@@ -0,0 +1,113 @@
+package ec.edu.espe.inventory.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga de lazo cerrado: {@code concurrency} clientes envían una petición tras otra
+ * durante {@code duration} (después de {@code warmup}) y se reportan peticiones por segundo y
+ * percentiles de latencia. Con {@code --body} la petición es un POST JSON; sin él, un GET.
+ */
+public final class HttpLoadTest {
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        URI uri = URI.create(options.getOrDefault("url", "http://localhost:8081/api/v1/products/a3c2b1d0-6b0e-4f2b-9c1a-2d3f4a5b6c7d/stock"));
+        String body = options.get("body");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30));
+        HttpRequest request = body == null
+                ? builder.GET().build()
+                : builder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)).build();
+
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            run(client, request, concurrency, warmup);
+            Result result = run(client, request, concurrency, duration);
+            System.out.printf("url=%s concurrency=%d duration=%ss%n", uri, concurrency, duration.toSeconds());
+            System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+                    result.latenciesNanos.length, result.errors, result.latenciesNanos.length / (double) duration.toSeconds());
+            System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f max=%.2f%n",
+                    result.percentile(0.50), result.percentile(0.90), result.percentile(0.99), result.percentile(1.0));
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        List<long[]> all = new ArrayList<>(concurrency);
+        int total = 0;
+        for (Future<long[]> worker : workers) {
+            long[] latencies = worker.get();
+            all.add(latencies);
+            total += latencies.length;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (long[] latencies : all) {
+            System.arraycopy(latencies, 0, merged, offset, latencies.length);
+            offset += latencies.length;
+        }
+        Arrays.sort(merged);
+        return new Result(merged, errors.get());
+    }
+
+    private record Result(long[] latenciesNanos, long errors) {
+
+        double percentile(double p) {
+            if (latenciesNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latenciesNanos.length - 1, Math.ceil(p * latenciesNanos.length) - 1);
+            return latenciesNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
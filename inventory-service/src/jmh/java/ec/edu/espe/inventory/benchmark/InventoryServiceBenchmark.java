@@ -0,0 +1,60 @@
+package ec.edu.espe.inventory.benchmark;
+
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.service.InventoryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de los caminos calientes de InventoryService sin contención: pedidos de 3 productos
+ * elegidos al azar entre {@code PRODUCTS} con stock suficiente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InventoryServiceBenchmark {
+
+    private static final int PRODUCTS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+    private List<UUID> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of());
+        products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            UUID productId = UUID.randomUUID();
+            BenchmarkContext.seed(context, productId, Integer.MAX_VALUE / 2);
+            products.add(productId);
+        }
+        inventoryService = context.getBean(InventoryService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean reserve() {
+        return inventoryService.reserve(UUID.randomUUID(), items()).isReserved();
+    }
+
+    private List<OrderItem> items() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<OrderItem> items = new ArrayList<>(3);
+        for (int i = 0; i < 3; i++) {
+            items.add(new OrderItem(products.get(random.nextInt(PRODUCTS)), 1));
+        }
+        return items;
+    }
+}
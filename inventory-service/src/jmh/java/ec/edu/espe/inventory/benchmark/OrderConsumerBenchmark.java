@@ -0,0 +1,83 @@
+package ec.edu.espe.inventory.benchmark;
+
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.messaging.OrderCreatedHandler;
+import ec.edu.espe.inventory.messaging.OrderEventBatchConsumer;
+import ec.edu.espe.inventory.messaging.OrderEventConsumer;
+import ec.edu.espe.inventory.service.InventoryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eventos OrderCreated por segundo: listener de un mensaje por transacción contra el
+ * listener por lotes (todo el lote en una transacción). Los resultados van al outbox, en la
+ * transacción de la reserva, con el relay detenido: no hace falta broker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(OrderConsumerBenchmark.EVENTS)
+public class OrderConsumerBenchmark {
+
+    static final int EVENTS = 50;
+    private static final int PRODUCTS = 200;
+
+    private ConfigurableApplicationContext context;
+    private OrderEventConsumer singleConsumer;
+    private OrderEventBatchConsumer batchConsumer;
+    private List<UUID> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of(
+                "inventory.outbox.enabled", true,
+                "inventory.outbox.auto-startup", false));
+        products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            UUID productId = UUID.randomUUID();
+            BenchmarkContext.seed(context, productId, Integer.MAX_VALUE / 2);
+            products.add(productId);
+        }
+        InventoryService inventoryService = context.getBean(InventoryService.class);
+        singleConsumer = new OrderEventConsumer(new OrderCreatedHandler(inventoryService));
+        batchConsumer = new OrderEventBatchConsumer(inventoryService);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void singleListener() {
+        for (OrderCreatedEvent event : events()) {
+            singleConsumer.handleOrderCreated(event);
+        }
+    }
+
+    @Benchmark
+    public void batchListener() {
+        batchConsumer.handleOrderCreatedBatch(events());
+    }
+
+    private List<OrderCreatedEvent> events() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<OrderCreatedEvent> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            List<OrderItem> items = new ArrayList<>(3);
+            for (int j = 0; j < 3; j++) {
+                items.add(new OrderItem(products.get(random.nextInt(PRODUCTS)), 1));
+            }
+            events.add(new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID().toString(), items));
+        }
+        return events;
+    }
+}
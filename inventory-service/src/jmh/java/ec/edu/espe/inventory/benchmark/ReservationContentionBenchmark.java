@@ -0,0 +1,53 @@
+package ec.edu.espe.inventory.benchmark;
+
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.service.InventoryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contención sobre un único SKU: varios hilos reservan 1 unidad del mismo producto.
+ * Compara SELECT ... FOR UPDATE + save, el UPDATE condicionado y el ledger en memoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class ReservationContentionBenchmark {
+
+    private static final UUID HOT_SKU = UUID.fromString("a3c2b1d0-6b0e-4f2b-9c1a-2d3f4a5b6c7d");
+
+    @Param({"pessimistic", "conditional-update", "ledger", "group-commit"})
+    public String strategy;
+
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+    private List<OrderItem> items;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start(Map.of(
+                "inventory.reservation.strategy", strategy,
+                "inventory.ledger.journal-dir", Files.createTempDirectory("ledger-bench").toString()));
+        BenchmarkContext.seed(context, HOT_SKU, Integer.MAX_VALUE / 2);
+        inventoryService = context.getBean(InventoryService.class);
+        items = List.of(new OrderItem(HOT_SKU, 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean reserveHotSku() {
+        return inventoryService.reserve(UUID.randomUUID(), items).isReserved();
+    }
+}
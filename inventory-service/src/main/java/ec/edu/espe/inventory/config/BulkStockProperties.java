@@ -0,0 +1,18 @@
+package ec.edu.espe.inventory.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.bulk-stock")
+public class BulkStockProperties {
+
+    /** Máximo de ids en una respuesta JSON; listas mayores deben pedir application/x-ndjson (413 si no). */
+    private int maxIds = 1000;
+
+    /** Máximo de ids en una petición NDJSON; por encima se responde 413. */
+    private int maxStreamIds = 100_000;
+
+    /** Ids por consulta IN al generar la respuesta NDJSON. */
+    private int chunkSize = 500;
+}
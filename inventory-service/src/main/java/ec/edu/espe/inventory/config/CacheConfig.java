@@ -0,0 +1,17 @@
+package ec.edu.espe.inventory.config;
+
+import ec.edu.espe.inventory.service.ProductStockCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StockCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public ProductStockCache productStockCache(StockCacheProperties properties, MeterRegistry meterRegistry) {
+        return new ProductStockCache(properties.getMaximumSize(), properties.getTtl(), meterRegistry);
+    }
+}
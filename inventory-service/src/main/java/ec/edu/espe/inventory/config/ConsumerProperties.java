@@ -0,0 +1,29 @@
+package ec.edu.espe.inventory.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.consumer")
+public class ConsumerProperties {
+
+    /**
+     * single: un mensaje por transacción | batch: lotes de mensajes por transacción |
+     * partitioned: un consumidor por partición de producto.
+     */
+    private String mode = "single";
+
+    /** Máximo de mensajes por lote. */
+    private int batchSize = 50;
+
+    /** Espera máxima por el siguiente mensaje antes de entregar un lote incompleto. */
+    private Duration batchReceiveTimeout = Duration.ofMillis(100);
+
+    /** Número de particiones (colas) del modo partitioned. */
+    private int partitions = 4;
+
+    /** Espera máxima del confirm del broker al reenviar un pedido a su partición. */
+    private Duration forwardConfirmTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,31 @@
+package ec.edu.espe.inventory.config;
+
+import ec.edu.espe.inventory.repository.ProductStockRepository;
+import ec.edu.espe.inventory.service.GroupCommitReservationStrategy;
+import ec.edu.espe.inventory.service.InventoryMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserva con group commit ({@code inventory.reservation.strategy=group-commit}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.reservation.strategy", havingValue = "group-commit")
+@EnableConfigurationProperties(GroupCommitProperties.class)
+public class GroupCommitConfig {
+
+    @Bean(destroyMethod = "close")
+    public GroupCommitReservationStrategy groupCommitReservationStrategy(ProductStockRepository productStockRepository,
+                                                                         PlatformTransactionManager transactionManager,
+                                                                         GroupCommitProperties properties,
+                                                                         InventoryMetrics inventoryMetrics,
+                                                                         MeterRegistry meterRegistry) {
+        return new GroupCommitReservationStrategy(productStockRepository, new TransactionTemplate(transactionManager),
+                properties.getWindow(), properties.getMaxBatch(), properties.getQueueCapacity(), inventoryMetrics, meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package ec.edu.espe.inventory.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.group-commit")
+public class GroupCommitProperties {
+
+    /** Tiempo que se esperan más reservas desde la primera del lote. */
+    private Duration window = Duration.ofMillis(2);
+
+    /** Máximo de reservas por commit; un lote lleno se confirma sin esperar la ventana. */
+    private int maxBatch = 256;
+
+    /** Reservas en espera; con la cola llena se rechazan en lugar de acumular latencia. */
+    private int queueCapacity = 10_000;
+}
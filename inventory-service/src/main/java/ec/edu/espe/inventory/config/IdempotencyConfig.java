@@ -0,0 +1,50 @@
+package ec.edu.espe.inventory.config;
+
+import ec.edu.espe.inventory.idempotency.ProcessedOrderPurger;
+import ec.edu.espe.inventory.idempotency.ProcessedOrderStore;
+import ec.edu.espe.inventory.idempotency.RotatingBloomFilter;
+import ec.edu.espe.inventory.repository.ProcessedOrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@Slf4j
+public class IdempotencyConfig {
+
+    @Bean
+    public RotatingBloomFilter processedOrdersFilter(ProcessedOrderRepository repository, IdempotencyProperties properties) {
+        RotatingBloomFilter seen = new RotatingBloomFilter(properties.getExpectedOrders(), properties.getFalsePositiveRate());
+        // Se carga antes de que arranquen los listeners; sin esto una redelivery tras un reinicio
+        // pasaría el filtro y solo la detendría la clave primaria (con rollback de la reserva)
+        List<UUID> recent = repository.findOrderIdsProcessedSince(LocalDateTime.now().minus(properties.getWindow()));
+        recent.forEach(seen::put);
+        // Lo cargado pasa a la generación anterior: ya cumple la ventana antes de la próxima rotación
+        seen.rotate();
+        log.info("Loaded {} processed orders into the dedup filter", recent.size());
+        return seen;
+    }
+
+    @Bean
+    public ProcessedOrderStore processedOrderStore(ProcessedOrderRepository repository, RotatingBloomFilter processedOrdersFilter,
+                                                   MeterRegistry meterRegistry) {
+        return new ProcessedOrderStore(repository, processedOrdersFilter, meterRegistry);
+    }
+
+    @Bean
+    public ProcessedOrderPurger processedOrderPurger(ProcessedOrderRepository repository, RotatingBloomFilter processedOrdersFilter,
+                                                     PlatformTransactionManager transactionManager,
+                                                     IdempotencyProperties properties) {
+        return new ProcessedOrderPurger(repository, processedOrdersFilter, new TransactionTemplate(transactionManager),
+                properties.getWindow(), properties.getPurgeInterval());
+    }
+}
@@ -0,0 +1,26 @@
+package ec.edu.espe.inventory.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.idempotency")
+public class IdempotencyProperties {
+
+    /** Pedidos por ventana que caben en cada generación del filtro con la tasa indicada. */
+    private long expectedOrders = 1_000_000;
+
+    /** Tasa de falsos positivos (cada uno cuesta una consulta a processed_orders). */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Cuánto tiempo se detecta un OrderCreated repetido: processed_orders guarda esta ventana,
+     * el filtro rota con ella y al arrancar se carga con los pedidos de la ventana.
+     */
+    private Duration window = Duration.ofDays(7);
+
+    /** Cada cuánto se borran las filas fuera de la ventana (y se comprueba si toca rotar). */
+    private Duration purgeInterval = Duration.ofHours(1);
+}
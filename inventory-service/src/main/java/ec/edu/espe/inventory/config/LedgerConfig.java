@@ -0,0 +1,72 @@
+package ec.edu.espe.inventory.config;
+
+import ec.edu.espe.inventory.ledger.LedgerReservationStrategy;
+import ec.edu.espe.inventory.ledger.LedgerWriteBehind;
+import ec.edu.espe.inventory.ledger.ProductStockBatchWriter;
+import ec.edu.espe.inventory.ledger.StockBalance;
+import ec.edu.espe.inventory.ledger.StockJournal;
+import ec.edu.espe.inventory.ledger.StockLedger;
+import ec.edu.espe.inventory.repository.ProductStockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ledger en memoria ({@code inventory.reservation.strategy=ledger}). Asume una sola
+ * instancia de inventory-service escribiendo en products_stock.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.reservation.strategy", havingValue = "ledger")
+@EnableConfigurationProperties(LedgerProperties.class)
+@Slf4j
+public class LedgerConfig {
+
+    @Bean(destroyMethod = "close")
+    public StockJournal stockJournal(LedgerProperties properties) {
+        return new StockJournal(Path.of(properties.getJournalDir()), properties.getJournalMaxBatch());
+    }
+
+    @Bean
+    public ProductStockBatchWriter productStockBatchWriter(JdbcTemplate jdbcTemplate, LedgerProperties properties) {
+        return new ProductStockBatchWriter(jdbcTemplate, properties.getFlushBatchSize());
+    }
+
+    @Bean
+    public StockLedger stockLedger(StockJournal journal, ProductStockBatchWriter writer,
+                                   ProductStockRepository repository, LedgerProperties properties) {
+        // Reservas confirmadas antes de una caída que no alcanzaron a volcarse
+        Map<UUID, StockBalance> pending = journal.replay();
+        if (!pending.isEmpty()) {
+            log.info("Replaying {} product balances from the stock journal", pending.size());
+            writer.write(pending.values());
+        }
+        journal.deleteUpTo(journal.roll().segmentId());
+
+        return new StockLedger(properties.getShards(), productId -> repository.findById(productId)
+                .map(stock -> new StockBalance(
+                        stock.getProductId(),
+                        stock.getAvailableStock(),
+                        stock.getReservedStock(),
+                        0,
+                        stock.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())));
+    }
+
+    @Bean
+    public LedgerWriteBehind ledgerWriteBehind(StockJournal journal, ProductStockBatchWriter writer,
+                                               LedgerProperties properties) {
+        return new LedgerWriteBehind(journal, writer, properties.getFlushInterval());
+    }
+
+    @Bean
+    public LedgerReservationStrategy ledgerReservationStrategy(StockLedger ledger, StockJournal journal) {
+        return new LedgerReservationStrategy(ledger, journal);
+    }
+}
@@ -0,0 +1,26 @@
+package ec.edu.espe.inventory.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.ledger")
+public class LedgerProperties {
+
+    /** Número de shards del ledger (se redondea a potencia de 2). */
+    private int shards = 16;
+
+    /** Directorio del journal local. */
+    private String journalDir = "data/ledger";
+
+    /** Máximo de escrituras que se confirman con un mismo fsync. */
+    private int journalMaxBatch = 1024;
+
+    /** Intervalo del write-behind hacia products_stock. */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /** Tamaño del batch JDBC del write-behind. */
+    private int flushBatchSize = 500;
+}
@@ -0,0 +1,44 @@
+package ec.edu.espe.inventory.config;
+
+import ec.edu.espe.events.outbox.OutboxRelay;
+import ec.edu.espe.inventory.outbox.OutboxWriter;
+import ec.edu.espe.inventory.repository.OutboxRepository;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Outbox transaccional ({@code inventory.outbox.enabled=true}): EventPublisher escribe en
+ * outbox_messages y el relay publica por lotes con publisher confirms.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.outbox.enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository, RabbitTemplate rabbitTemplate,
+                                   PlatformTransactionManager transactionManager, OutboxProperties properties,
+                                   Environment environment) {
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("outbox-relay").factory()
+                : Thread.ofPlatform().name("outbox-relay").daemon().factory();
+        return new OutboxRelay(outboxRepository, rabbitTemplate, new TransactionTemplate(transactionManager),
+                properties, threadFactory);
+    }
+
+    @Bean
+    public OutboxWriter outboxWriter(OutboxRepository outboxRepository, MessageConverter messageConverter,
+                                     OutboxRelay outboxRelay) {
+        return new OutboxWriter(outboxRepository, messageConverter, outboxRelay);
+    }
+}
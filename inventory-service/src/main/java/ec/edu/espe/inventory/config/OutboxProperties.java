@@ -0,0 +1,29 @@
+package ec.edu.espe.inventory.config;
+
+import ec.edu.espe.events.outbox.OutboxSettings;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.outbox")
+public class OutboxProperties implements OutboxSettings {
+
+    /** Publica los eventos a través del outbox en lugar de directamente al broker. */
+    private boolean enabled = false;
+
+    /** Arranca el relay con el contexto (los benchmarks lo dejan detenido). */
+    private boolean autoStartup = true;
+
+    /** Mensajes por lote (una espera de confirms por lote). */
+    private int batchSize = 100;
+
+    /** Pasada periódica de respaldo por si se pierde el aviso after-commit. */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    private Duration confirmTimeout = Duration.ofSeconds(5);
+
+    /** Tiempo que se conservan los mensajes ya enviados. */
+    private Duration retention = Duration.ofHours(1);
+}
@@ -0,0 +1,71 @@
+package ec.edu.espe.inventory.config;
+
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.inventory.messaging.OrderCreatedHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Colas por partición de producto. Cada cola tiene un único consumidor exclusivo, así los
+ * pedidos del mismo SKU se procesan en serie (sin hacer cola sobre el mismo bloqueo de fila)
+ * y los de SKUs distintos en paralelo. La cola {@code spanning} recibe los pedidos con
+ * productos de varias particiones; su consumidor compite con las particiones por las filas,
+ * pero los bloqueos se toman ordenados por productId, así que no hay deadlocks.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "partitioned")
+@RequiredArgsConstructor
+public class PartitionedConsumerConfig implements RabbitListenerConfigurer {
+
+    private final ConsumerProperties consumerProperties;
+    private final OrderCreatedHandler orderCreatedHandler;
+    private final MessageConverter messageConverter;
+
+    @Bean
+    public Declarables inventoryPartitionDeclarables() {
+        DirectExchange exchange = new DirectExchange(RabbitMQConfig.INVENTORY_PARTITIONS_EXCHANGE);
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(exchange);
+        for (int i = 0; i < consumerProperties.getPartitions(); i++) {
+            Queue queue = QueueBuilder.durable(RabbitMQConfig.partitionQueue(i)).build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(exchange).with(RabbitMQConfig.partitionRoutingKey(i)));
+        }
+        Queue spanning = QueueBuilder.durable(RabbitMQConfig.SPANNING_PARTITION_QUEUE).build();
+        declarables.add(spanning);
+        declarables.add(BindingBuilder.bind(spanning).to(exchange).with(RabbitMQConfig.SPANNING_PARTITION_ROUTING_KEY));
+        return new Declarables(declarables);
+    }
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        for (int i = 0; i < consumerProperties.getPartitions(); i++) {
+            registrar.registerEndpoint(endpoint(RabbitMQConfig.partitionQueue(i)));
+        }
+        registrar.registerEndpoint(endpoint(RabbitMQConfig.SPANNING_PARTITION_QUEUE));
+    }
+
+    private SimpleRabbitListenerEndpoint endpoint(String queue) {
+        SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId(queue);
+        endpoint.setQueueNames(queue);
+        endpoint.setConcurrency("1");
+        endpoint.setExclusive(true);
+        endpoint.setMessageListener(message -> {
+            // Como en un @RabbitListener: si el productor no envía __TypeId__ se usa este tipo
+            message.getMessageProperties().setInferredArgumentType(OrderCreatedEvent.class);
+            orderCreatedHandler.handle((OrderCreatedEvent) messageConverter.fromMessage(message));
+        });
+        return endpoint;
+    }
+}
@@ -0,0 +1,42 @@
+package ec.edu.espe.inventory.config;
+
+import ec.edu.espe.inventory.messaging.ConfirmingEventSink;
+import ec.edu.espe.inventory.messaging.QueueLatencyAdvice;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publicación con confirms asíncronos ({@code inventory.publisher.mode=confirming}, outbox
+ * desactivado). El pool de canales es propio: los confirms correlacionados no se mezclan con
+ * los confirms simples del canal principal, que usa el relay del outbox.
+ */
+@Configuration
+@ConditionalOnProperty(name = "inventory.outbox.enabled", havingValue = "false", matchIfMissing = true)
+@ConditionalOnProperty(name = "inventory.publisher.mode", havingValue = "confirming")
+@EnableConfigurationProperties(PublisherProperties.class)
+public class PublisherConfig {
+
+    @Bean(destroyMethod = "close")
+    public ConfirmingEventSink confirmingEventSink(CachingConnectionFactory connectionFactory,
+                                                   MessageConverter messageConverter,
+                                                   PublisherProperties properties,
+                                                   MeterRegistry meterRegistry) {
+        // No se registra como bean: un segundo ConnectionFactory desactivaría el de Spring Boot
+        CachingConnectionFactory publisherConnectionFactory =
+                new CachingConnectionFactory(connectionFactory.getRabbitConnectionFactory());
+        publisherConnectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.CORRELATED);
+        publisherConnectionFactory.setChannelCacheSize(properties.getChannelCacheSize());
+        publisherConnectionFactory.setConnectionNameStrategy(factory -> "inventory-publisher");
+
+        RabbitTemplate rabbitTemplate = new RabbitTemplate(publisherConnectionFactory);
+        rabbitTemplate.setBeforePublishPostProcessors(QueueLatencyAdvice.PUBLISH_TIMESTAMP);
+        return new ConfirmingEventSink(rabbitTemplate, messageConverter, properties.getMaxInFlight(),
+                properties.getInFlightTimeout(), meterRegistry);
+    }
+}
@@ -0,0 +1,33 @@
+package ec.edu.espe.inventory.config;
+
+import ec.edu.espe.events.EventFormat;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.publisher")
+public class PublisherProperties {
+
+    /**
+     * direct: convertAndSend sin confirms | confirming: pool de canales propio con confirms
+     * asíncronos y ventana de mensajes sin confirmar. Sin efecto con el outbox activo.
+     */
+    private String mode = "direct";
+
+    /**
+     * Codificación de StockReserved/StockRejected: json | binary (más compacta). Se aplica a
+     * todos los modos, también al outbox; los consumidores leen ambas.
+     */
+    private EventFormat format = EventFormat.JSON;
+
+    /** Canales del pool de publicación. */
+    private int channelCacheSize = 8;
+
+    /** Máximo de eventos publicados esperando confirm. */
+    private int maxInFlight = 1000;
+
+    /** Espera máxima por un lugar en la ventana antes de fallar. */
+    private Duration inFlightTimeout = Duration.ofSeconds(5);
+}
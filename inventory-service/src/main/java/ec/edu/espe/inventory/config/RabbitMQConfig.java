@@ -1,27 +1,67 @@
 package ec.edu.espe.inventory.config;
 
+import ec.edu.espe.events.EventSchema;
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.StockRejectedEvent;
+import ec.edu.espe.events.StockReservedEvent;
+import ec.edu.espe.events.amqp.EventMessageConverter;
+import ec.edu.espe.inventory.dto.OrderCancelledEvent;
+import ec.edu.espe.inventory.dto.OrderPaidEvent;
+import ec.edu.espe.inventory.messaging.QueueLatencyAdvice;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.DefaultJacksonJavaTypeMapper;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Map;
+
 @Configuration
+@EnableConfigurationProperties({ConsumerProperties.class, PublisherProperties.class})
 public class RabbitMQConfig {
 
     // Exchange
     public static final String ORDERS_EXCHANGE = "orders.exchange";
+    public static final String INVENTORY_PARTITIONS_EXCHANGE = "inventory.partitions.exchange";
 
     // Queues
     public static final String INVENTORY_ORDERS_QUEUE = "inventory.orders.queue";
     public static final String ORDERS_RESULTS_QUEUE = "orders.results.queue";
+    public static final String SPANNING_PARTITION_QUEUE = "inventory.orders.partition.spanning";
+    public static final String INVENTORY_ORDER_LIFECYCLE_QUEUE = "inventory.order-lifecycle.queue";
 
     // Routing Keys
     public static final String ORDER_CREATED_ROUTING_KEY = "order.created";
     public static final String STOCK_RESERVED_ROUTING_KEY = "stock.reserved";
     public static final String STOCK_REJECTED_ROUTING_KEY = "stock.rejected";
+    public static final String SPANNING_PARTITION_ROUTING_KEY = "spanning";
+    public static final String ORDER_CANCELLED_ROUTING_KEY = "order.cancelled";
+    public static final String ORDER_PAID_ROUTING_KEY = "order.paid";
+
+    // Tipos lógicos de evento (__TypeId__), definidos en el contrato compartido con order-service
+    public static final String ORDER_CREATED_TYPE = EventSchema.ORDER_CREATED;
+    public static final String STOCK_RESERVED_TYPE = EventSchema.STOCK_RESERVED;
+    public static final String STOCK_REJECTED_TYPE = EventSchema.STOCK_REJECTED;
+    public static final String ORDER_CANCELLED_TYPE = "OrderCancelled";
+    public static final String ORDER_PAID_TYPE = "OrderPaid";
+
+    public static String partitionQueue(int partition) {
+        return "inventory.orders.partition." + partition;
+    }
+
+    public static String partitionRoutingKey(int partition) {
+        return "partition." + partition;
+    }
 
     @Bean
     public TopicExchange ordersExchange() {
@@ -40,6 +80,12 @@ public class RabbitMQConfig {
                 .build();
     }
 
+    @Bean
+    public Queue inventoryOrderLifecycleQueue() {
+        return QueueBuilder.durable(INVENTORY_ORDER_LIFECYCLE_QUEUE)
+                .build();
+    }
+
     @Bean
     public Binding inventoryOrdersBinding(Queue inventoryOrdersQueue, TopicExchange ordersExchange) {
         return BindingBuilder.bind(inventoryOrdersQueue)
@@ -62,14 +108,78 @@ public class RabbitMQConfig {
     }
 
     @Bean
+    public Binding orderCancelledBinding(Queue inventoryOrderLifecycleQueue, TopicExchange ordersExchange) {
+        return BindingBuilder.bind(inventoryOrderLifecycleQueue)
+                .to(ordersExchange)
+                .with(ORDER_CANCELLED_ROUTING_KEY);
+    }
+
+    @Bean
+    public Binding orderPaidBinding(Queue inventoryOrderLifecycleQueue, TopicExchange ordersExchange) {
+        return BindingBuilder.bind(inventoryOrderLifecycleQueue)
+                .to(ordersExchange)
+                .with(ORDER_PAID_ROUTING_KEY);
+    }
+
+    /**
+     * Converter JSON. El header __TypeId__ lleva un nombre lógico en lugar del nombre de clase,
+     * así no depende del paquete en que vive cada evento.
+     */
     public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+        DefaultJacksonJavaTypeMapper typeMapper = new DefaultJacksonJavaTypeMapper();
+        typeMapper.setIdClassMapping(Map.of(
+                ORDER_CREATED_TYPE, OrderCreatedEvent.class,
+                STOCK_RESERVED_TYPE, StockReservedEvent.class,
+                STOCK_REJECTED_TYPE, StockRejectedEvent.class,
+                ORDER_CANCELLED_TYPE, OrderCancelledEvent.class,
+                ORDER_PAID_TYPE, OrderPaidEvent.class));
+        JacksonJsonMessageConverter converter = new JacksonJsonMessageConverter();
+        converter.setJavaTypeMapper(typeMapper);
+        return converter;
+    }
+
+    /**
+     * Lee JSON y binario según el content type; publica los eventos del contrato en
+     * inventory.publisher.format. Lo usan el template, el outbox y los listeners.
+     */
+    @Bean
+    public MessageConverter messageConverter(PublisherProperties properties) {
+        return new EventMessageConverter(jsonMessageConverter(), properties.getFormat());
     }
 
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-        rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        rabbitTemplate.setMessageConverter(messageConverter);
+        rabbitTemplate.setBeforePublishPostProcessors(QueueLatencyAdvice.PUBLISH_TIMESTAMP);
         return rabbitTemplate;
     }
+
+    /**
+     * Latencia cola → ack en todos los contenedores (también las particiones). Reemplaza la
+     * cadena de advice del contenedor: si se activa spring.rabbitmq.listener.simple.retry hay
+     * que agregar aquí su interceptor.
+     */
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> queueLatencyCustomizer(MeterRegistry meterRegistry) {
+        QueueLatencyAdvice advice = new QueueLatencyAdvice(meterRegistry, "inventory.queue.latency");
+        return container -> container.setAdviceChain(advice);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "batch")
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ConsumerProperties consumerProperties,
+            ContainerCustomizer<SimpleMessageListenerContainer> queueLatencyCustomizer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setContainerCustomizer(queueLatencyCustomizer);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(consumerProperties.getBatchSize());
+        factory.setReceiveTimeout(consumerProperties.getBatchReceiveTimeout().toMillis());
+        return factory;
+    }
 }
@@ -0,0 +1,40 @@
+package ec.edu.espe.inventory.config;
+
+import ec.edu.espe.inventory.repository.StockReservationRepository;
+import ec.edu.espe.inventory.reservation.ReservationTracker;
+import ec.edu.espe.inventory.service.ProductStockCache;
+import ec.edu.espe.inventory.service.ReservationStrategy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Seguimiento de reservas por pedido: liberación por cancelación y, con
+ * {@code inventory.reservation.expiry-enabled=true}, por vencimiento.
+ */
+@Configuration
+@EnableConfigurationProperties(ReservationProperties.class)
+public class ReservationConfig {
+
+    @Bean
+    public ReservationTracker reservationTracker(StockReservationRepository repository,
+                                                 ReservationStrategy reservationStrategy,
+                                                 ProductStockCache productStockCache, JdbcTemplate jdbcTemplate,
+                                                 PlatformTransactionManager transactionManager,
+                                                 ReservationProperties properties, Environment environment,
+                                                 MeterRegistry meterRegistry) {
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("reservation-tracker").factory()
+                : Thread.ofPlatform().name("reservation-tracker").daemon().factory();
+        return new ReservationTracker(repository, reservationStrategy, productStockCache, jdbcTemplate,
+                new TransactionTemplate(transactionManager), properties, threadFactory, meterRegistry);
+    }
+}
@@ -0,0 +1,37 @@
+package ec.edu.espe.inventory.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.reservation")
+public class ReservationProperties {
+
+    /**
+     * Libera solas las reservas no pagadas tras {@code ttl}. Solo debe activarse cuando
+     * order-service publique OrderPaid: hoy ningún pedido se marca pagado, así que se
+     * liberarían (y se volverían a vender) las unidades de pedidos ya confirmados.
+     */
+    private boolean expiryEnabled = false;
+
+    /** Tiempo que una reserva espera el pago antes de liberarse. */
+    private Duration ttl = Duration.ofMinutes(30);
+
+    /** Resolución de la rueda de temporizadores (y cada cuánto se liberan lotes). */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /** Pedidos por transacción de liberación. */
+    private int releaseBatchSize = 1000;
+
+    /**
+     * Con el vencimiento desactivado, las reservas más antiguas que esto se dan por cerradas:
+     * se borran sus filas sin liberar las unidades (como un OrderPaid). Un OrderCancelled
+     * posterior ya no encuentra nada que liberar.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /** Cada cuánto se borran las reservas sin vencimiento que superan {@code retention}. */
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,17 @@
+package ec.edu.espe.inventory.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "inventory.stock-cache")
+public class StockCacheProperties {
+
+    /** Máximo de productos en caché. */
+    private long maximumSize = 10_000;
+
+    /** Tiempo de vida de cada entrada. */
+    private Duration ttl = Duration.ofSeconds(2);
+}
@@ -0,0 +1,9 @@
+package ec.edu.espe.inventory.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BulkStockProperties.class)
+public class WebConfig {
+}
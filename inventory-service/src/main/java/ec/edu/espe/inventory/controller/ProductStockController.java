@@ -1,12 +1,24 @@
 package ec.edu.espe.inventory.controller;
 
+import ec.edu.espe.inventory.config.BulkStockProperties;
+import ec.edu.espe.inventory.dto.ProductStockLookup;
 import ec.edu.espe.inventory.dto.ProductStockResponse;
 import ec.edu.espe.inventory.service.InventoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -15,7 +27,11 @@ import java.util.UUID;
 @Slf4j
 public class ProductStockController {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     private final InventoryService inventoryService;
+    private final BulkStockProperties bulkStockProperties;
+    private final JsonMapper jsonMapper;
 
     @GetMapping("/{productId}/stock")
     public ResponseEntity<?> getProductStock(@PathVariable String productId) {
@@ -37,6 +53,113 @@ public class ProductStockController {
         }
     }
 
+    /**
+     * Stock de varios productos con una sola consulta. Cada id se informa por separado
+     * (FOUND, NOT_FOUND o INVALID_ID).
+     */
+    @PostMapping(value = "/stock/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getProductStocks(InputStream body) {
+        int maxIds = bulkStockProperties.getMaxIds();
+        List<String> productIds;
+        try {
+            productIds = readProductIds(body, maxIds);
+        } catch (IllegalArgumentException | JacksonException e) {
+            return ResponseEntity.badRequest().body(invalidBody(e));
+        }
+        if (productIds == null) {
+            return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE)
+                    .body(new BulkErrorResponse("Too many product IDs, request " + APPLICATION_NDJSON
+                            + " for more than " + maxIds, maxIds));
+        }
+        log.info("Received bulk stock request for {} products", productIds.size());
+        return ResponseEntity.ok(inventoryService.lookupStock(productIds));
+    }
+
+    /**
+     * Variante NDJSON para listas grandes (hasta {@code max-stream-ids}): consulta por bloques
+     * y escribe cada resultado apenas lo obtiene, sin armar la respuesta completa en memoria.
+     */
+    @PostMapping(value = "/stock/batch", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamProductStocks(InputStream body) {
+        int maxIds = bulkStockProperties.getMaxStreamIds();
+        List<String> productIds;
+        try {
+            productIds = readProductIds(body, maxIds);
+        } catch (IllegalArgumentException | JacksonException e) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(json(invalidBody(e)));
+        }
+        if (productIds == null) {
+            return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(json(new BulkErrorResponse("Too many product IDs, at most " + maxIds + " per request", maxIds)));
+        }
+        log.info("Received streaming bulk stock request for {} products", productIds.size());
+
+        int chunkSize = bulkStockProperties.getChunkSize();
+        StreamingResponseBody stream = out -> {
+            for (int from = 0; from < productIds.size(); from += chunkSize) {
+                List<String> chunk = productIds.subList(from, Math.min(from + chunkSize, productIds.size()));
+                for (ProductStockLookup lookup : inventoryService.lookupStock(chunk)) {
+                    // writeValue(out, ...) cerraría el stream de la respuesta
+                    out.write(jsonMapper.writeValueAsBytes(lookup));
+                    out.write('\n');
+                }
+                out.flush();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .body(stream);
+    }
+
+    /**
+     * Lee {@code {"productIds": [...]}} token a token, sin enlazar el cuerpo completo. Deja de
+     * leer y devuelve null en cuanto hay más de {@code maxIds} ids.
+     */
+    private List<String> readProductIds(InputStream body, int maxIds) {
+        List<String> productIds = new ArrayList<>();
+        try (JsonParser parser = jsonMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"productIds".equals(name) || value == JsonToken.VALUE_NULL) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (value != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("productIds must be an array");
+                }
+                for (JsonToken id = parser.nextToken(); id != JsonToken.END_ARRAY; id = parser.nextToken()) {
+                    if (id == null || id.isStructStart()) {
+                        throw new IllegalArgumentException("productIds must contain strings");
+                    }
+                    if (productIds.size() == maxIds) {
+                        return null;
+                    }
+                    productIds.add(id == JsonToken.VALUE_NULL ? null : parser.getString());
+                }
+            }
+        }
+        return productIds;
+    }
+
+    // El método NDJSON devuelve siempre un StreamingResponseBody, también para los errores
+    private StreamingResponseBody json(Object body) {
+        return out -> out.write(jsonMapper.writeValueAsBytes(body));
+    }
+
+    private ErrorResponse invalidBody(RuntimeException e) {
+        log.warn("Invalid bulk stock request: {}", e.getMessage());
+        return new ErrorResponse("Invalid request body", null);
+    }
+
     // Inner class for error responses
     private record ErrorResponse(String error, String productId) {}
+
+    private record BulkErrorResponse(String error, int maxIds) {}
 }
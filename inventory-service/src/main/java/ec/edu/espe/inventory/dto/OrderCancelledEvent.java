@@ -1,18 +1,15 @@
-package ec.edu.espe.order_service.dto;
+package ec.edu.espe.inventory.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class StockRejectedEvent {
+public class OrderCancelledEvent {
     private UUID orderId;
-    private String status;
     private String reason;
-    private LocalDateTime timestamp;
 }
@@ -1,17 +1,14 @@
-package ec.edu.espe.order_service.dto;
+package ec.edu.espe.inventory.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class StockReservedEvent {
+public class OrderPaidEvent {
     private UUID orderId;
-    private String status;
-    private LocalDateTime timestamp;
 }
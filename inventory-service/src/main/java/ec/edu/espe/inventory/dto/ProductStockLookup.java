@@ -0,0 +1,34 @@
+package ec.edu.espe.inventory.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado por producto de la consulta masiva de stock.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductStockLookup {
+
+    public enum Status { FOUND, NOT_FOUND, INVALID_ID }
+
+    private String productId;
+    private Status status;
+    private ProductStockResponse stock;
+
+    public static ProductStockLookup found(ProductStockResponse stock) {
+        return new ProductStockLookup(stock.getProductId().toString(), Status.FOUND, stock);
+    }
+
+    public static ProductStockLookup notFound(String productId) {
+        return new ProductStockLookup(productId, Status.NOT_FOUND, null);
+    }
+
+    public static ProductStockLookup invalidId(String productId) {
+        return new ProductStockLookup(productId, Status.INVALID_ID, null);
+    }
+}
@@ -1,5 +1,6 @@
 package ec.edu.espe.inventory.dto;
 
+import ec.edu.espe.events.OrderItem;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,8 +11,7 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class OrderCreatedEvent {
+public class ReservationRequest {
     private UUID orderId;
-    private UUID customerId;
     private List<OrderItem> items;
 }
@@ -0,0 +1,35 @@
+package ec.edu.espe.inventory.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ReservationResult {
+    private UUID orderId;
+    private boolean reserved;
+    private UUID failedProductId;
+    private String reason;
+
+    public static ReservationResult reserved(UUID orderId) {
+        return new ReservationResult(orderId, true, null, null);
+    }
+
+    public static ReservationResult insufficientStock(UUID orderId, UUID productId) {
+        return new ReservationResult(orderId, false, productId, "Insufficient stock for product " + productId);
+    }
+
+    /**
+     * Resultado guardado de un pedido ya procesado, para reenviarlo ante un duplicado.
+     */
+    public static ReservationResult previous(UUID orderId, boolean reserved, String reason) {
+        return new ReservationResult(orderId, reserved, null, reason);
+    }
+
+    public static ReservationResult failed(UUID orderId, String message) {
+        return new ReservationResult(orderId, false, null, "Error processing order: " + message);
+    }
+}
@@ -0,0 +1,82 @@
+package ec.edu.espe.inventory.idempotency;
+
+import ec.edu.espe.inventory.repository.ProcessedOrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene {@code processed_orders} y el filtro de Bloom dentro de la misma ventana: borra las
+ * filas más antiguas que la ventana y rota el filtro cuando su generación actual la cumple.
+ * Primero se borra y después se rota, así toda fila que queda en la tabla sigue en el filtro
+ * (el filtro recuerda al menos una ventana desde la última rotación).
+ */
+@Slf4j
+public class ProcessedOrderPurger implements SmartLifecycle {
+
+    private final ProcessedOrderRepository repository;
+    private final RotatingBloomFilter seen;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration window;
+    private final Duration interval;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public ProcessedOrderPurger(ProcessedOrderRepository repository, RotatingBloomFilter seen,
+                                TransactionTemplate transactionTemplate, Duration window, Duration interval) {
+        this.repository = repository;
+        this.seen = seen;
+        this.transactionTemplate = transactionTemplate;
+        this.window = window;
+        this.interval = interval;
+    }
+
+    /**
+     * Un ciclo: borra los pedidos procesados fuera de la ventana y rota el filtro si toca.
+     * Devuelve las filas borradas.
+     */
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(window);
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteProcessedBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} processed orders older than {}", deleted, window);
+        }
+        if (seen.rotateIfOlderThan(window)) {
+            log.info("Rotated the dedup filter");
+        }
+        return deleted == null ? 0 : deleted;
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("processed-orders-purge").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::purgeSafely, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void purgeSafely() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.error("Processed orders purge failed", e);
+        }
+    }
+}
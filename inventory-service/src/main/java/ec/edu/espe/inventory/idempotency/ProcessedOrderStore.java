@@ -0,0 +1,91 @@
+package ec.edu.espe.inventory.idempotency;
+
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.model.ProcessedOrder;
+import ec.edu.espe.inventory.repository.ProcessedOrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Pedidos ya procesados: filtro de Bloom en memoria delante de la tabla processed_orders.
+ * Un pedido nuevo (el caso normal) se descarta en el filtro sin ir a la base de datos; solo
+ * los posibles duplicados se consultan. La exactitud la da la clave primaria de la tabla,
+ * el filtro solo evita consultas.
+ */
+@Slf4j
+public class ProcessedOrderStore {
+
+    private final ProcessedOrderRepository repository;
+    private final RotatingBloomFilter seen;
+    private final Counter duplicates;
+    private final Counter lookups;
+
+    public ProcessedOrderStore(ProcessedOrderRepository repository, RotatingBloomFilter seen, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.seen = seen;
+        this.duplicates = Counter.builder("inventory.orders.duplicates")
+                .description("OrderCreated redelivered for an already processed order")
+                .register(meterRegistry);
+        this.lookups = Counter.builder("inventory.orders.dedup.lookups")
+                .description("Possible duplicates checked against processed_orders")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Resultado publicado la primera vez, si el pedido ya se procesó.
+     */
+    public Optional<ReservationResult> previousResult(UUID orderId) {
+        if (!seen.mightContain(orderId)) {
+            return Optional.empty();
+        }
+        lookups.increment();
+        Optional<ReservationResult> previous = repository.findById(orderId).map(ProcessedOrderStore::toResult);
+        previous.ifPresent(result -> {
+            duplicates.increment();
+            log.warn("Duplicate OrderCreated for order {}, re-emitting previous result (reserved={})",
+                    orderId, result.isReserved());
+        });
+        return previous;
+    }
+
+    /**
+     * Igual que {@link #previousResult} para un lote: una sola consulta para los posibles duplicados.
+     */
+    public Map<UUID, ReservationResult> previousResults(Collection<UUID> orderIds) {
+        List<UUID> candidates = orderIds.stream().filter(seen::mightContain).distinct().toList();
+        Map<UUID, ReservationResult> previous = new HashMap<>();
+        if (candidates.isEmpty()) {
+            return previous;
+        }
+        lookups.increment(candidates.size());
+        repository.findAllById(candidates).forEach(row -> previous.put(row.getOrderId(), toResult(row)));
+        if (!previous.isEmpty()) {
+            duplicates.increment(previous.size());
+            log.warn("Duplicate OrderCreated for {} orders in batch, re-emitting previous results", previous.size());
+        }
+        return previous;
+    }
+
+    /**
+     * Registra el resultado en la transacción del llamador. Falla con
+     * DataIntegrityViolationException si otra entrega del mismo pedido ya lo registró.
+     */
+    public void record(ReservationResult result) {
+        repository.insert(result.getOrderId(), result.isReserved(), result.getReason(), LocalDateTime.now());
+        // Antes del commit: si la transacción se revierte, queda como falso positivo
+        seen.put(result.getOrderId());
+    }
+
+    private static ReservationResult toResult(ProcessedOrder row) {
+        return ReservationResult.previous(row.getOrderId(), row.isReserved(), row.getReason());
+    }
+}
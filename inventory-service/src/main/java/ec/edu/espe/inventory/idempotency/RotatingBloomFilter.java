@@ -0,0 +1,59 @@
+package ec.edu.espe.inventory.idempotency;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Filtro de Bloom en dos generaciones: se inserta en la actual y se consultan ambas. Al rotar,
+ * la actual pasa a ser la anterior y la anterior se descarta, así la memoria y la tasa de falsos
+ * positivos no crecen con el tiempo. Rotando cada {@code ventana}, un pedido se recuerda al
+ * menos durante una ventana completa (y como mucho dos).
+ */
+public class RotatingBloomFilter {
+
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private volatile Generations generations;
+
+    /**
+     * @param expectedInsertions pedidos por generación (es decir, por ventana)
+     */
+    public RotatingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.generations = new Generations(newGeneration(), newGeneration(), Instant.now());
+    }
+
+    public void put(UUID value) {
+        // Si rota a la vez, el valor queda en la que pasa a ser anterior: sigue visible
+        generations.current().put(value);
+    }
+
+    public boolean mightContain(UUID value) {
+        Generations snapshot = generations;
+        return snapshot.current().mightContain(value) || snapshot.previous().mightContain(value);
+    }
+
+    public synchronized void rotate() {
+        generations = new Generations(newGeneration(), generations.current(), Instant.now());
+    }
+
+    /**
+     * Rota si la generación actual empezó hace al menos {@code age}.
+     */
+    public synchronized boolean rotateIfOlderThan(Duration age) {
+        if (generations.since().plus(age).isAfter(Instant.now())) {
+            return false;
+        }
+        rotate();
+        return true;
+    }
+
+    private BloomFilter newGeneration() {
+        return new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    private record Generations(BloomFilter current, BloomFilter previous, Instant since) {
+    }
+}
@@ -0,0 +1,110 @@
+package ec.edu.espe.inventory.ledger;
+
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.dto.ProductStockResponse;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.service.ReservationStrategy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Reserva contra el ledger en memoria. La decisión se toma con CAS, sin ir a la base de
+ * datos; la reserva se confirma cuando sus saldos están en el journal (fsync) y el
+ * write-behind los lleva luego a {@code products_stock}.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerReservationStrategy implements ReservationStrategy {
+
+    private final StockLedger ledger;
+    private final StockJournal journal;
+
+    @Override
+    public ReservationResult reserve(UUID orderId, List<OrderItem> items) {
+        Map<UUID, Integer> requested = ReservationStrategy.quantitiesByProduct(items);
+        List<Map.Entry<UUID, Integer>> applied = new ArrayList<>(requested.size());
+        List<StockBalance> balances = new ArrayList<>(requested.size());
+
+        for (Map.Entry<UUID, Integer> entry : requested.entrySet()) {
+            Optional<StockBalance> reserved = ledger.tryReserve(entry.getKey(), entry.getValue());
+            if (reserved.isEmpty()) {
+                log.debug("Insufficient stock for product {}: requested={}", entry.getKey(), entry.getValue());
+                undo(applied);
+                return ReservationResult.insufficientStock(orderId, entry.getKey());
+            }
+            applied.add(entry);
+            balances.add(reserved.get());
+        }
+
+        try {
+            journal.append(balances).join();
+        } catch (CompletionException e) {
+            undo(applied);
+            throw new IllegalStateException("Cannot journal reservation for order " + orderId, e.getCause());
+        }
+        return ReservationResult.reserved(orderId);
+    }
+
+    @Override
+    public boolean participatesInTransaction() {
+        return false;
+    }
+
+    /** La liberación va al ledger en memoria y a su journal: no se revierte con la transacción. */
+    @Override
+    public boolean releasesInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void release(Map<UUID, Integer> quantities) {
+        List<StockBalance> released = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> released.add(ledger.release(productId, quantity)));
+        journal.append(released).join();
+    }
+
+    @Override
+    public Optional<ProductStockResponse> currentStock(UUID productId) {
+        return ledger.get(productId).map(LedgerReservationStrategy::toResponse);
+    }
+
+    @Override
+    public Map<UUID, ProductStockResponse> currentStocks(Collection<UUID> productIds) {
+        Map<UUID, ProductStockResponse> stocks = new HashMap<>();
+        for (UUID productId : productIds) {
+            ledger.peek(productId).ifPresent(balance -> stocks.put(productId, toResponse(balance)));
+        }
+        return stocks;
+    }
+
+    private static ProductStockResponse toResponse(StockBalance balance) {
+        return new ProductStockResponse(
+                balance.productId(),
+                balance.availableStock(),
+                balance.reservedStock(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(balance.updatedAtMillis()), ZoneId.systemDefault()));
+    }
+
+    private void undo(List<Map.Entry<UUID, Integer>> applied) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        List<StockBalance> released = applied.stream()
+                .map(e -> ledger.release(e.getKey(), e.getValue()))
+                .toList();
+        // Sin esperar el fsync: la reserva deshecha nunca se confirmó al llamador
+        journal.append(released);
+    }
+}
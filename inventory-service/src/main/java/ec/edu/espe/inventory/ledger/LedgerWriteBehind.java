@@ -0,0 +1,92 @@
+package ec.edu.espe.inventory.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vuelca periódicamente a {@code products_stock} los saldos del ledger que ya están en el
+ * journal: muchas reservas del mismo producto terminan en un solo UPDATE. Después de cada volcado exitoso
+ * se borran los segmentos del journal que ya quedaron reflejados en la base de datos.
+ */
+@Slf4j
+public class LedgerWriteBehind implements SmartLifecycle {
+
+    private final StockJournal journal;
+    private final ProductStockBatchWriter writer;
+    private final Duration interval;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public LedgerWriteBehind(StockJournal journal, ProductStockBatchWriter writer, Duration interval) {
+        this.journal = journal;
+        this.writer = writer;
+        this.interval = interval;
+    }
+
+    /**
+     * Un volcado: rotar el journal entrega los saldos que ya tienen fsync. Solo esos se
+     * escriben; un cambio aún sin confirmar en el journal espera al siguiente volcado, así
+     * la tabla nunca queda por delante del journal.
+     */
+    public void flush() {
+        StockJournal.Checkpoint checkpoint = journal.roll();
+        List<StockBalance> balances = checkpoint.balances();
+        if (!balances.isEmpty()) {
+            try {
+                writer.write(balances);
+                log.debug("Ledger write-behind flushed {} products", balances.size());
+            } catch (RuntimeException e) {
+                journal.restore(balances);
+                log.error("Ledger write-behind failed, {} products will be retried", balances.size(), e);
+                return;
+            }
+        }
+        journal.deleteUpTo(checkpoint.segmentId());
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("ledger-write-behind").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::flushSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Último volcado con los listeners ya detenidos
+        flushSafely();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Se detiene después de los listeners de RabbitMQ
+        return Integer.MAX_VALUE - 2048;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Ledger write-behind error", e);
+        }
+    }
+}
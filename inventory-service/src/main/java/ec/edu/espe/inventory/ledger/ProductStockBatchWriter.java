@@ -0,0 +1,32 @@
+package ec.edu.espe.inventory.ledger;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Escribe saldos absolutos en {@code products_stock} con un UPDATE por producto en batch JDBC.
+ */
+@RequiredArgsConstructor
+public class ProductStockBatchWriter {
+
+    private static final String UPDATE_SQL =
+            "UPDATE products_stock SET available_stock = ?, reserved_stock = ?, updated_at = ? WHERE product_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public void write(Collection<StockBalance> balances) {
+        List<StockBalance> rows = new ArrayList<>(balances);
+        jdbcTemplate.batchUpdate(UPDATE_SQL, rows, batchSize, (ps, balance) -> {
+            ps.setInt(1, balance.availableStock());
+            ps.setInt(2, balance.reservedStock());
+            ps.setTimestamp(3, new Timestamp(balance.updatedAtMillis()));
+            ps.setObject(4, balance.productId());
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package ec.edu.espe.inventory.ledger;
+
+import java.util.UUID;
+
+/**
+ * Saldo inmutable de un producto en el ledger. {@code version} crece con cada cambio y
+ * permite quedarse con el último registro al reproducir el journal.
+ */
+public record StockBalance(UUID productId, int availableStock, int reservedStock, long version, long updatedAtMillis) {
+
+    StockBalance reserve(int quantity, long now) {
+        return new StockBalance(productId, availableStock - quantity, reservedStock + quantity, version + 1, now);
+    }
+
+    StockBalance release(int quantity, long now) {
+        return new StockBalance(productId, availableStock + quantity, reservedStock - quantity, version + 1, now);
+    }
+}
@@ -0,0 +1,272 @@
+package ec.edu.espe.inventory.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal local append-only del ledger. Cada registro guarda el saldo absoluto de un
+ * producto, así reproducirlo es idempotente (gana la versión más alta). Un único hilo
+ * escribe y hace fsync por lotes: todas las escrituras encoladas mientras se hacía el
+ * fsync anterior se confirman con el siguiente. El journal también acumula los saldos ya
+ * en disco que falta volcar a la base de datos (ver {@link #roll()}).
+ */
+@Slf4j
+public class StockJournal implements AutoCloseable {
+
+    // msb(8) + lsb(8) + available(4) + reserved(4) + version(8) + updatedAt(8) + crc(4)
+    static final int RECORD_SIZE = 44;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int maxBatch;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final ReentrantLock segmentLock = new ReentrantLock();
+    private final Thread writer;
+    // Saldos con fsync hecho y aún no volcados; protegido por segmentLock
+    private final Map<UUID, StockBalance> unflushed = new HashMap<>();
+
+    private FileChannel channel;
+    private long segmentId;
+    private volatile boolean running = true;
+
+    public StockJournal(Path directory, int maxBatch) {
+        this.directory = directory;
+        this.maxBatch = maxBatch;
+        try {
+            Files.createDirectories(directory);
+            this.segmentId = segmentIds().stream().mapToLong(Long::longValue).max().orElse(0) + 1;
+            this.channel = openSegment(segmentId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open stock journal in " + directory, e);
+        }
+        this.writer = Thread.ofPlatform().name("stock-journal-writer").daemon().start(this::writeLoop);
+    }
+
+    /**
+     * Encola los saldos; el futuro se completa cuando están en disco (fsync).
+     */
+    public CompletableFuture<Void> append(List<StockBalance> balances) {
+        PendingWrite write = new PendingWrite(balances, new CompletableFuture<>());
+        if (!running) {
+            write.done().completeExceptionally(new IllegalStateException("Stock journal is closed"));
+            return write.done();
+        }
+        queue.add(write);
+        return write.done();
+    }
+
+    /**
+     * Cierra el segmento actual, abre uno nuevo y entrega los saldos con fsync hecho desde
+     * el punto anterior. Los saldos devueltos nunca son más nuevos que lo que está en disco,
+     * y todo lo que contiene el segmento cerrado está entre ellos (o en un punto anterior).
+     */
+    public Checkpoint roll() {
+        segmentLock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+            long closed = segmentId;
+            segmentId++;
+            channel = openSegment(segmentId);
+            List<StockBalance> balances = new ArrayList<>(unflushed.values());
+            unflushed.clear();
+            return new Checkpoint(closed, balances);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot roll stock journal", e);
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    /**
+     * Devuelve al siguiente punto los saldos de un volcado que falló.
+     */
+    public void restore(List<StockBalance> balances) {
+        segmentLock.lock();
+        try {
+            balances.forEach(this::markUnflushed);
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    /**
+     * Borra los segmentos ya reflejados en la base de datos.
+     */
+    public void deleteUpTo(long lastSegmentId) {
+        for (Long id : segmentIds()) {
+            if (id <= lastSegmentId) {
+                try {
+                    Files.deleteIfExists(segmentPath(id));
+                } catch (IOException e) {
+                    log.warn("Cannot delete journal segment {}", id, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lee todos los segmentos y devuelve el último saldo de cada producto. Un registro
+     * incompleto o con CRC inválido marca el final del segmento (escritura cortada).
+     */
+    public Map<UUID, StockBalance> replay() {
+        Map<UUID, StockBalance> latest = new HashMap<>();
+        for (Long id : segmentIds()) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segmentPath(id)));
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    StockBalance balance = read(buffer);
+                    if (balance == null) {
+                        log.warn("Corrupted record in journal segment {}, ignoring the rest", id);
+                        break;
+                    }
+                    latest.merge(balance.productId(), balance,
+                            (a, b) -> a.version() >= b.version() ? a : b);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot replay journal segment " + id, e);
+            }
+        }
+        return latest;
+    }
+
+    @Override
+    public void close() {
+        // Sin interrupt: interrumpir un hilo en medio de una escritura cierra el FileChannel
+        running = false;
+        try {
+            writer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segmentLock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Error closing stock journal", e);
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        int records = batch.stream().mapToInt(w -> w.balances().size()).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(records * RECORD_SIZE);
+        for (PendingWrite write : batch) {
+            write.balances().forEach(balance -> write(buffer, balance));
+        }
+        buffer.flip();
+
+        segmentLock.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            batch.forEach(w -> w.balances().forEach(this::markUnflushed));
+            batch.forEach(w -> w.done().complete(null));
+        } catch (IOException e) {
+            log.error("Error writing stock journal", e);
+            batch.forEach(w -> w.done().completeExceptionally(e));
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    private void markUnflushed(StockBalance balance) {
+        unflushed.merge(balance.productId(), balance, (a, b) -> a.version() >= b.version() ? a : b);
+    }
+
+    private static void write(ByteBuffer buffer, StockBalance balance) {
+        int start = buffer.position();
+        buffer.putLong(balance.productId().getMostSignificantBits());
+        buffer.putLong(balance.productId().getLeastSignificantBits());
+        buffer.putInt(balance.availableStock());
+        buffer.putInt(balance.reservedStock());
+        buffer.putLong(balance.version());
+        buffer.putLong(balance.updatedAtMillis());
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), start, RECORD_SIZE - 4);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private static StockBalance read(ByteBuffer buffer) {
+        int start = buffer.position();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), start, RECORD_SIZE - 4);
+        StockBalance balance = new StockBalance(
+                new UUID(buffer.getLong(), buffer.getLong()),
+                buffer.getInt(), buffer.getInt(), buffer.getLong(), buffer.getLong());
+        return buffer.getInt() == (int) crc.getValue() ? balance : null;
+    }
+
+    private FileChannel openSegment(long id) throws IOException {
+        return FileChannel.open(segmentPath(id),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%020d", id) + SEGMENT_SUFFIX);
+    }
+
+    private List<Long> segmentIds() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(SEGMENT_PREFIX) && n.endsWith(SEGMENT_SUFFIX))
+                    .map(n -> Long.parseLong(n.substring(SEGMENT_PREFIX.length(), n.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list journal segments in " + directory, e);
+        }
+    }
+
+    /**
+     * Segmento cerrado por {@link #roll()} y saldos a volcar antes de poder borrarlo.
+     */
+    public record Checkpoint(long segmentId, List<StockBalance> balances) {
+    }
+
+    private record PendingWrite(List<StockBalance> balances, CompletableFuture<Void> done) {
+    }
+}
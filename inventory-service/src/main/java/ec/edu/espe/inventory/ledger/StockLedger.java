@@ -0,0 +1,101 @@
+package ec.edu.espe.inventory.ledger;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Saldos de stock en memoria, repartidos en shards por productId. Cada producto se
+ * actualiza con CAS sobre un {@link StockBalance} inmutable (sin locks). Quien cambia un
+ * saldo lo escribe en el journal; el write-behind toma de ahí lo que vuelca a
+ * {@code products_stock}.
+ */
+public class StockLedger {
+
+    private final Shard[] shards;
+    private final Function<UUID, Optional<StockBalance>> loader;
+
+    public StockLedger(int shardCount, Function<UUID, Optional<StockBalance>> loader) {
+        this.shards = new Shard[Integer.highestOneBit(Math.max(1, shardCount - 1)) << 1];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        this.loader = loader;
+    }
+
+    /**
+     * Devuelve el saldo actual, cargándolo desde la base de datos la primera vez.
+     */
+    public Optional<StockBalance> get(UUID productId) {
+        return entry(productId).map(AtomicReference::get);
+    }
+
+    /**
+     * Devuelve el saldo si ya está cargado, sin ir a la base de datos.
+     */
+    public Optional<StockBalance> peek(UUID productId) {
+        return Optional.ofNullable(shard(productId).entries.get(productId)).map(AtomicReference::get);
+    }
+
+    /**
+     * Reserva {@code quantity} unidades si hay stock disponible. Una cantidad no positiva
+     * lanza IllegalArgumentException: pasaría la comprobación de disponible y lo aumentaría.
+     */
+    public Optional<StockBalance> tryReserve(UUID productId, int quantity) {
+        requirePositive(productId, quantity);
+        Optional<AtomicReference<StockBalance>> entry = entry(productId);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        AtomicReference<StockBalance> ref = entry.get();
+        while (true) {
+            StockBalance current = ref.get();
+            if (current.availableStock() < quantity) {
+                return Optional.empty();
+            }
+            StockBalance next = current.reserve(quantity, System.currentTimeMillis());
+            if (ref.compareAndSet(current, next)) {
+                return Optional.of(next);
+            }
+        }
+    }
+
+    /**
+     * Devuelve unidades reservadas al stock disponible.
+     */
+    public StockBalance release(UUID productId, int quantity) {
+        requirePositive(productId, quantity);
+        AtomicReference<StockBalance> ref = entry(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + productId));
+        return ref.updateAndGet(current ->
+                current.release(Math.min(quantity, current.reservedStock()), System.currentTimeMillis()));
+    }
+
+    private static void requirePositive(UUID productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Invalid quantity for product " + productId);
+        }
+    }
+
+    private Optional<AtomicReference<StockBalance>> entry(UUID productId) {
+        Shard shard = shard(productId);
+        AtomicReference<StockBalance> ref = shard.entries.get(productId);
+        if (ref != null) {
+            return Optional.of(ref);
+        }
+        // La carga se hace fuera del ConcurrentHashMap para no bloquear el bin durante el SELECT
+        Optional<StockBalance> loaded = loader.apply(productId);
+        return loaded.map(balance -> shard.entries.computeIfAbsent(productId, id -> new AtomicReference<>(balance)));
+    }
+
+    private Shard shard(UUID productId) {
+        int h = productId.hashCode();
+        return shards[(h ^ (h >>> 16)) & (shards.length - 1)];
+    }
+
+    private static final class Shard {
+        private final ConcurrentHashMap<UUID, AtomicReference<StockBalance>> entries = new ConcurrentHashMap<>();
+    }
+}
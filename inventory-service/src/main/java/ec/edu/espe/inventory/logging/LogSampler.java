@@ -0,0 +1,24 @@
+package ec.edu.espe.inventory.logging;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Muestreo de logs por evento: deja pasar uno de cada {@code rate} mensajes, o todos si el
+ * logger está en DEBUG. Para los INFO por pedido, que a plena carga cuestan más que el
+ * trabajo que describen; las métricas dan los totales.
+ */
+public final class LogSampler {
+
+    private final int rate;
+    private final AtomicLong calls = new AtomicLong();
+
+    public LogSampler(int rate) {
+        this.rate = rate;
+    }
+
+    public boolean shouldLog(Logger log) {
+        return log.isDebugEnabled() || calls.getAndIncrement() % rate == 0;
+    }
+}
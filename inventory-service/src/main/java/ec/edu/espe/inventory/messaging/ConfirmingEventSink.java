@@ -0,0 +1,150 @@
+package ec.edu.espe.inventory.messaging;
+
+import ec.edu.espe.events.EventFormat;
+import ec.edu.espe.events.EventSchema;
+import ec.edu.espe.events.amqp.EventMessageConverter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.DefaultJacksonJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publicación con publisher confirms asíncronos ({@code inventory.publisher.mode=confirming}).
+ * Usa su propio pool de canales con confirms correlacionados: el llamador no espera al
+ * confirm, solo a que el mensaje salga por el canal. Como mucho {@code maxInFlight} mensajes
+ * pueden estar sin confirmar; con la ventana llena el llamador espera hasta
+ * {@code inFlightTimeout} y luego falla, así el consumidor frena en lugar de acumular
+ * mensajes en memoria. Un nack o un canal cerrado se registran en métricas y log; para
+ * reintentos garantizados está el outbox.
+ */
+@Slf4j
+public class ConfirmingEventSink implements EventSink, AutoCloseable {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MessageConverter messageConverter;
+    private final boolean jsonCodec;
+    private final int maxInFlight;
+    private final Duration inFlightTimeout;
+    private final Semaphore window;
+    private final Timer publishLatency;
+    private final Timer confirmLag;
+    private final Counter nacks;
+
+    public ConfirmingEventSink(RabbitTemplate rabbitTemplate, MessageConverter messageConverter, int maxInFlight,
+                               Duration inFlightTimeout, MeterRegistry meterRegistry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.messageConverter = messageConverter;
+        // EventCodec solo escribe JSON: con formato binario todo pasa por el converter
+        this.jsonCodec = !(messageConverter instanceof EventMessageConverter converter
+                && converter.getFormat() == EventFormat.BINARY);
+        this.maxInFlight = maxInFlight;
+        this.inFlightTimeout = inFlightTimeout;
+        this.window = new Semaphore(maxInFlight);
+
+        this.publishLatency = Timer.builder("inventory.publisher.publish.latency")
+                .description("Time the caller spends publishing one event (without waiting for the confirm)")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.confirmLag = Timer.builder("inventory.publisher.confirm.lag")
+                .description("Time from publish to broker confirm")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.nacks = Counter.builder("inventory.publisher.nacks")
+                .description("Events the broker did not confirm")
+                .register(meterRegistry);
+        Gauge.builder("inventory.publisher.in-flight", this, ConfirmingEventSink::inFlight)
+                .description("Published events waiting for a broker confirm")
+                .register(meterRegistry);
+    }
+
+    public int inFlight() {
+        return maxInFlight - window.availablePermits();
+    }
+
+    @Override
+    public void send(String exchange, String routingKey, Object event) {
+        Message message = toMessage(event);
+        acquire();
+
+        long start = System.nanoTime();
+        CorrelationData correlation = new CorrelationData(message.getMessageProperties().getMessageId());
+        correlation.getFuture().whenComplete((confirm, error) -> {
+            window.release();
+            confirmLag.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (error != null || !confirm.ack()) {
+                nacks.increment();
+                log.error("Broker did not confirm {} to {}/{}: {}", message.getMessageProperties().getMessageId(),
+                        exchange, routingKey, error != null ? error.getMessage() : confirm.reason());
+            }
+        });
+        try {
+            rabbitTemplate.send(exchange, routingKey, message, correlation);
+        } catch (RuntimeException e) {
+            // No llegará confirm para este mensaje
+            correlation.getFuture().completeExceptionally(e);
+            throw e;
+        }
+        publishLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Message toMessage(Object event) {
+        MessageProperties properties = new MessageProperties();
+        Message message;
+        EventCodec.Encoded encoded = jsonCodec ? EventCodec.encode(event) : null;
+        if (encoded != null) {
+            properties.setContentType(EventSchema.JSON_CONTENT_TYPE);
+            properties.setContentEncoding("UTF-8");
+            properties.setContentLength(encoded.body().length);
+            properties.setHeader(DefaultJacksonJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, encoded.typeId());
+            message = new Message(encoded.body(), properties);
+        } else {
+            message = messageConverter.toMessage(event, properties);
+        }
+        properties.setMessageId(UUID.randomUUID().toString());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        return message;
+    }
+
+    private void acquire() {
+        try {
+            if (!window.tryAcquire(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new AmqpException("Publisher window full: " + maxInFlight + " events waiting for broker confirms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted while waiting for the publisher window", e);
+        }
+    }
+
+    /**
+     * Espera los confirms pendientes y cierra el pool de canales, que es propio de este sink.
+     */
+    @Override
+    public void close() {
+        try {
+            if (!window.tryAcquire(maxInFlight, inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Closing publisher with {} unconfirmed events", inFlight());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (rabbitTemplate.getConnectionFactory() instanceof CachingConnectionFactory connectionFactory) {
+            connectionFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package ec.edu.espe.inventory.messaging;
+
+import ec.edu.espe.events.StockRejectedEvent;
+import ec.edu.espe.events.StockReservedEvent;
+import ec.edu.espe.inventory.config.RabbitMQConfig;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Serializador escrito a mano para los eventos de forma fija que publica inventory-service.
+ * Produce el mismo JSON que el MessageConverter de RabbitMQConfig (mismos campos, fechas ISO),
+ * sin reflexión y sobre un buffer reutilizado por hilo; solo se copia el resultado final.
+ * Para otros tipos devuelve {@code null} y se usa el MessageConverter.
+ */
+public final class EventCodec {
+
+    private static final ThreadLocal<JsonBuffer> BUFFER = ThreadLocal.withInitial(JsonBuffer::new);
+
+    public record Encoded(String typeId, byte[] body) {
+    }
+
+    private EventCodec() {
+    }
+
+    public static Encoded encode(Object event) {
+        if (event instanceof StockReservedEvent reserved) {
+            JsonBuffer json = BUFFER.get().reset();
+            json.ascii("{\"orderId\":").uuid(reserved.getOrderId())
+                    .ascii(",\"status\":").string(reserved.getStatus())
+                    .ascii(",\"correlationId\":").string(reserved.getCorrelationId())
+                    .ascii(",\"orderCreatedAt\":").timestamp(reserved.getOrderCreatedAt())
+                    .ascii(",\"timestamp\":").timestamp(reserved.getTimestamp())
+                    .ascii("}");
+            return new Encoded(RabbitMQConfig.STOCK_RESERVED_TYPE, json.toByteArray());
+        }
+        if (event instanceof StockRejectedEvent rejected) {
+            JsonBuffer json = BUFFER.get().reset();
+            json.ascii("{\"orderId\":").uuid(rejected.getOrderId())
+                    .ascii(",\"status\":").string(rejected.getStatus())
+                    .ascii(",\"reason\":").string(rejected.getReason())
+                    .ascii(",\"correlationId\":").string(rejected.getCorrelationId())
+                    .ascii(",\"orderCreatedAt\":").timestamp(rejected.getOrderCreatedAt())
+                    .ascii(",\"timestamp\":").timestamp(rejected.getTimestamp())
+                    .ascii("}");
+            return new Encoded(RabbitMQConfig.STOCK_REJECTED_TYPE, json.toByteArray());
+        }
+        return null;
+    }
+
+    /** Buffer UTF-8 que crece según haga falta y se reutiliza entre mensajes. */
+    private static final class JsonBuffer {
+
+        private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+        private final StringBuilder scratch = new StringBuilder(32);
+        private byte[] bytes = new byte[256];
+        private int length;
+
+        JsonBuffer reset() {
+            length = 0;
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        JsonBuffer ascii(CharSequence text) {
+            ensure(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                bytes[length++] = (byte) text.charAt(i);
+            }
+            return this;
+        }
+
+        JsonBuffer uuid(UUID id) {
+            if (id == null) {
+                return ascii("null");
+            }
+            long msb = id.getMostSignificantBits();
+            long lsb = id.getLeastSignificantBits();
+            ensure(38);
+            bytes[length++] = '"';
+            hex(msb >>> 32, 8);
+            bytes[length++] = '-';
+            hex(msb >>> 16, 4);
+            bytes[length++] = '-';
+            hex(msb, 4);
+            bytes[length++] = '-';
+            hex(lsb >>> 48, 4);
+            bytes[length++] = '-';
+            hex(lsb, 12);
+            bytes[length++] = '"';
+            return this;
+        }
+
+        JsonBuffer timestamp(LocalDateTime timestamp) {
+            if (timestamp == null) {
+                return ascii("null");
+            }
+            scratch.setLength(0);
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(timestamp, scratch);
+            return ascii("\"").ascii(scratch).ascii("\"");
+        }
+
+        JsonBuffer string(String value) {
+            if (value == null) {
+                return ascii("null");
+            }
+            // Peor caso: 6 bytes por carácter (\\uXXXX)
+            ensure(value.length() * 6 + 2);
+            bytes[length++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    bytes[length++] = '\\';
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x20) {
+                    bytes[length++] = '\\';
+                    bytes[length++] = 'u';
+                    bytes[length++] = '0';
+                    bytes[length++] = '0';
+                    hex(c, 2);
+                } else if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xC0 | (c >> 6));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    bytes[length++] = (byte) (0xE0 | (c >> 12));
+                    bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            bytes[length++] = '"';
+            return this;
+        }
+
+        private void hex(long value, int digits) {
+            for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+                bytes[length++] = HEX[(int) (value >>> shift) & 0xF];
+            }
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -1,43 +1,63 @@
 package ec.edu.espe.inventory.messaging;
 
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.StockRejectedEvent;
+import ec.edu.espe.events.StockReservedEvent;
 import ec.edu.espe.inventory.config.RabbitMQConfig;
-import ec.edu.espe.inventory.dto.StockRejectedEvent;
-import ec.edu.espe.inventory.dto.StockReservedEvent;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.service.InventoryMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
-import java.util.UUID;
-
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class EventPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final EventSink eventSink;
+    private final InventoryMetrics inventoryMetrics;
+
+    /**
+     * Publica StockReserved devolviendo el correlationId y la fecha de creación de {@code origin}.
+     */
+    public void publishStockReserved(OrderCreatedEvent origin) {
+        StockReservedEvent event = new StockReservedEvent(origin.getOrderId(), origin.getCorrelationId(), origin.getCreatedAt());
 
-    public void publishStockReserved(UUID orderId) {
-        StockReservedEvent event = new StockReservedEvent(orderId);
-        
-        log.info("Publishing StockReserved event for order: {}", orderId);
-        rabbitTemplate.convertAndSend(
+        log.debug("Publishing StockReserved event for order: {}", origin.getOrderId());
+        long start = System.nanoTime();
+        eventSink.send(
                 RabbitMQConfig.ORDERS_EXCHANGE,
                 RabbitMQConfig.STOCK_RESERVED_ROUTING_KEY,
                 event
         );
-        log.info("StockReserved event published successfully");
+        inventoryMetrics.recordPublish(true, start);
     }
 
-    public void publishStockRejected(UUID orderId, String reason) {
-        StockRejectedEvent event = new StockRejectedEvent(orderId, reason);
-        
-        log.info("Publishing StockRejected event for order: {} - Reason: {}", orderId, reason);
-        rabbitTemplate.convertAndSend(
+    public void publishStockRejected(OrderCreatedEvent origin, String reason) {
+        StockRejectedEvent event = new StockRejectedEvent(origin.getOrderId(), reason,
+                origin.getCorrelationId(), origin.getCreatedAt());
+
+        log.debug("Publishing StockRejected event for order: {} - Reason: {}", origin.getOrderId(), reason);
+        long start = System.nanoTime();
+        eventSink.send(
                 RabbitMQConfig.ORDERS_EXCHANGE,
                 RabbitMQConfig.STOCK_REJECTED_ROUTING_KEY,
                 event
         );
-        log.info("StockRejected event published successfully");
+        inventoryMetrics.recordPublish(false, start);
+    }
+
+    /** Ver {@link EventSink#participatesInTransaction()}. */
+    public boolean participatesInTransaction() {
+        return eventSink.participatesInTransaction();
+    }
+
+    public void publishResult(ReservationResult result, OrderCreatedEvent origin) {
+        if (result.isReserved()) {
+            publishStockReserved(origin);
+        } else {
+            publishStockRejected(origin, result.getReason());
+        }
     }
 }
@@ -0,0 +1,18 @@
+package ec.edu.espe.inventory.messaging;
+
+/**
+ * Destino de los eventos de EventPublisher: publicación directa al broker o outbox
+ * transaccional, según {@code inventory.outbox.enabled}.
+ */
+public interface EventSink {
+
+    void send(String exchange, String routingKey, Object event);
+
+    /**
+     * true si el envío se escribe en la transacción del llamador (outbox): InventoryService lo
+     * hace dentro de la transacción de la reserva para que el evento confirme junto con ella.
+     */
+    default boolean participatesInTransaction() {
+        return false;
+    }
+}
@@ -0,0 +1,55 @@
+package ec.edu.espe.inventory.messaging;
+
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.logging.LogSampler;
+import ec.edu.espe.inventory.service.InventoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+/**
+ * Procesa un evento OrderCreated: reserva el stock y publica el resultado. Lo usan los
+ * listeners de un mensaje (cola única o particiones).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderCreatedHandler {
+
+    private static final LogSampler SAMPLED = new LogSampler(100);
+
+    private final InventoryService inventoryService;
+
+    public void handle(OrderCreatedEvent event) {
+        // Los logs de este pedido llevan el correlationId de order-service
+        try (MDC.MDCCloseable ignored = MDC.putCloseable("correlationId", event.getCorrelationId())) {
+            if (SAMPLED.shouldLog(log)) {
+                log.info("Received OrderCreated event: orderId={}, customerId={}, items={}",
+                        event.getOrderId(), event.getCustomerId(), event.getItems() == null ? 0 : event.getItems().size());
+            }
+
+            try {
+                // Verificar y reservar stock en una sola transacción, que también registra el evento resultante
+                ReservationResult result = inventoryService.reserveAndPublish(event);
+
+                if (result.isReserved()) {
+                    log.debug("Stock reserved successfully for order: {}", event.getOrderId());
+                } else {
+                    // Con un SKU agotado cada pedido se rechaza: también va muestreado
+                    if (SAMPLED.shouldLog(log)) {
+                        log.warn("Stock reservation rejected for order: {} - {}", event.getOrderId(), result.getReason());
+                    }
+                }
+            } catch (ResultPublishException e) {
+                // El stock ya está reservado: se reentrega el mensaje y se publica el resultado registrado
+                log.warn("Result of order {} not published, message will be redelivered", event.getOrderId(), e);
+                throw e;
+            } catch (Exception e) {
+                log.error("Error processing OrderCreated event for order: {}", event.getOrderId(), e);
+                inventoryService.publishRejection(event, "Error processing order: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ec.edu.espe.inventory.messaging;
+
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.inventory.config.RabbitMQConfig;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.service.InventoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumidor por lotes ({@code inventory.consumer.mode=batch}): recibe hasta
+ * {@code inventory.consumer.batch-size} mensajes o espera {@code batch-receive-timeout},
+ * reserva todo el lote en una transacción y el contenedor confirma (ack) el lote junto.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "batch")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventBatchConsumer {
+
+    private final InventoryService inventoryService;
+
+    @RabbitListener(queues = RabbitMQConfig.INVENTORY_ORDERS_QUEUE, containerFactory = "batchListenerContainerFactory")
+    public void handleOrderCreatedBatch(List<OrderCreatedEvent> events) {
+        log.debug("Received batch of {} OrderCreated events", events.size());
+
+        List<ReservationResult> results;
+        try {
+            results = inventoryService.reserveAllAndPublish(events);
+        } catch (ResultPublishException e) {
+            // Las reservas quedaron registradas: se reentrega el lote y se publican los resultados registrados
+            log.warn("Batch results not published, batch will be redelivered", e);
+            throw e;
+        } catch (Exception e) {
+            // Falló la transacción del lote: cada pedido se reintenta por separado
+            log.error("Batch reservation failed, falling back to one transaction per order", e);
+            results = reserveOneByOne(events);
+        }
+
+        log.info("Batch processed: {} reserved, {} rejected",
+                results.stream().filter(ReservationResult::isReserved).count(),
+                results.stream().filter(r -> !r.isReserved()).count());
+    }
+
+    private List<ReservationResult> reserveOneByOne(List<OrderCreatedEvent> events) {
+        List<ReservationResult> results = new ArrayList<>(events.size());
+        for (OrderCreatedEvent event : events) {
+            try {
+                results.add(inventoryService.reserveAndPublish(event));
+            } catch (ResultPublishException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Error processing OrderCreated event for order: {}", event.getOrderId(), e);
+                ReservationResult failed = ReservationResult.failed(event.getOrderId(), e.getMessage());
+                inventoryService.publishRejection(event, failed.getReason());
+                results.add(failed);
+            }
+        }
+        return results;
+    }
+}
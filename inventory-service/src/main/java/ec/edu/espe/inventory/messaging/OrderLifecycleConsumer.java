@@ -0,0 +1,43 @@
+package ec.edu.espe.inventory.messaging;
+
+import ec.edu.espe.inventory.config.RabbitMQConfig;
+import ec.edu.espe.inventory.dto.OrderCancelledEvent;
+import ec.edu.espe.inventory.dto.OrderPaidEvent;
+import ec.edu.espe.inventory.logging.LogSampler;
+import ec.edu.espe.inventory.reservation.ReservationTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitHandler;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Eventos posteriores a la reserva: una cancelación libera el stock del pedido y un pago
+ * lo deja reservado para el despacho.
+ */
+@Component
+@RabbitListener(queues = RabbitMQConfig.INVENTORY_ORDER_LIFECYCLE_QUEUE)
+@RequiredArgsConstructor
+@Slf4j
+public class OrderLifecycleConsumer {
+
+    private static final LogSampler SAMPLED = new LogSampler(100);
+
+    private final ReservationTracker reservationTracker;
+
+    @RabbitHandler
+    public void handleOrderCancelled(OrderCancelledEvent event) {
+        if (SAMPLED.shouldLog(log)) {
+            log.info("Received OrderCancelled event: orderId={}, reason={}", event.getOrderId(), event.getReason());
+        }
+        reservationTracker.cancel(event.getOrderId());
+    }
+
+    @RabbitHandler
+    public void handleOrderPaid(OrderPaidEvent event) {
+        if (SAMPLED.shouldLog(log)) {
+            log.info("Received OrderPaid event: orderId={}", event.getOrderId());
+        }
+        reservationTracker.complete(event.getOrderId());
+    }
+}
@@ -0,0 +1,73 @@
+package ec.edu.espe.inventory.messaging;
+
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.config.ConsumerProperties;
+import ec.edu.espe.inventory.config.RabbitMQConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Modo particionado ({@code inventory.consumer.mode=partitioned}): reenvía cada OrderCreated
+ * a la partición de sus productos ({@code hash(productId) mod N}). Los pedidos cuyos
+ * productos caen en varias particiones van a la cola {@code spanning}. El mensaje original
+ * se confirma (ack) solo después de que el broker confirma el reenvío.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.consumer.mode", havingValue = "partitioned")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPartitionRouter {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ConsumerProperties consumerProperties;
+
+    @RabbitListener(queues = RabbitMQConfig.INVENTORY_ORDERS_QUEUE)
+    public void route(@Payload OrderCreatedEvent event, Message message) {
+        String routingKey = routingKeyFor(event);
+        log.debug("Routing OrderCreated {} to {}", event.getOrderId(), routingKey);
+        // Se reenvía el mensaje original (cuerpo y headers intactos) y se espera el confirm:
+        // si falla, el listener no hace ack y el pedido se vuelve a entregar
+        rabbitTemplate.invoke(operations -> {
+            operations.send(RabbitMQConfig.INVENTORY_PARTITIONS_EXCHANGE, routingKey, message);
+            operations.waitForConfirmsOrDie(consumerProperties.getForwardConfirmTimeout().toMillis());
+            return null;
+        });
+    }
+
+    /**
+     * Partición del pedido. Un pedido sin items o con un producto nulo no tiene partición y
+     * nunca la tendrá: se descarta aquí sin reencolar, antes de reenviarlo (los demás modos lo
+     * rechazan con StockRejected en la reserva).
+     */
+    String routingKeyFor(OrderCreatedEvent event) {
+        if (event.getItems() == null || event.getItems().isEmpty()) {
+            throw new AmqpRejectAndDontRequeueException("OrderCreated " + event.getOrderId() + " has no items");
+        }
+        int partition = -1;
+        for (OrderItem item : event.getItems()) {
+            if (item == null || item.getProductId() == null) {
+                throw new AmqpRejectAndDontRequeueException("OrderCreated " + event.getOrderId() + " has an item without product");
+            }
+            int p = partitionOf(item.getProductId(), consumerProperties.getPartitions());
+            if (partition != -1 && p != partition) {
+                return RabbitMQConfig.SPANNING_PARTITION_ROUTING_KEY;
+            }
+            partition = p;
+        }
+        return RabbitMQConfig.partitionRoutingKey(partition);
+    }
+
+    public static int partitionOf(UUID productId, int partitions) {
+        return Math.floorMod(productId.hashCode(), partitions);
+    }
+}
@@ -0,0 +1,74 @@
+package ec.edu.espe.inventory.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia cola → ack: desde el timestamp AMQP que pone el publicador hasta que el listener
+ * termina (con ack AUTO el contenedor confirma justo después). Va en la cadena de advice de
+ * los contenedores. Los relojes de publicador y consumidor deben estar sincronizados (NTP).
+ */
+public class QueueLatencyAdvice implements MethodInterceptor {
+
+    /** Pone el timestamp de publicación si el mensaje no lo trae (un reenvío conserva el original). */
+    public static final MessagePostProcessor PUBLISH_TIMESTAMP = message -> {
+        if (message.getMessageProperties().getTimestamp() == null) {
+            message.getMessageProperties().setTimestamp(new Date());
+        }
+        return message;
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final String metricName;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public QueueLatencyAdvice(MeterRegistry meterRegistry, String metricName) {
+        this.meterRegistry = meterRegistry;
+        this.metricName = metricName;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        // Argumentos del listener: (Channel, Message | List<Message>)
+        Object data = invocation.getArguments()[1];
+        long now = System.currentTimeMillis();
+        if (data instanceof Message message) {
+            record(message, now);
+        } else if (data instanceof List<?> messages) {
+            for (Object message : messages) {
+                if (message instanceof Message amqpMessage) {
+                    record(amqpMessage, now);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void record(Message message, long now) {
+        Date timestamp = message.getMessageProperties().getTimestamp();
+        if (timestamp == null) {
+            return;
+        }
+        String queue = message.getMessageProperties().getConsumerQueue();
+        timers.computeIfAbsent(queue == null ? "unknown" : queue, name -> Timer.builder(metricName)
+                        .description("Time from publish to listener completion (ack)")
+                        .tag("queue", name)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry))
+                .record(Math.max(0, now - timestamp.getTime()), TimeUnit.MILLISECONDS);
+    }
+}
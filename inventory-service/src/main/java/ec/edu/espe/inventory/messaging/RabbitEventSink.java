@@ -0,0 +1,23 @@
+package ec.edu.espe.inventory.messaging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publicación directa con {@code convertAndSend}: el llamador espera al broker.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.outbox.enabled", havingValue = "false", matchIfMissing = true)
+@ConditionalOnProperty(name = "inventory.publisher.mode", havingValue = "direct", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RabbitEventSink implements EventSink {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Override
+    public void send(String exchange, String routingKey, Object event) {
+        rabbitTemplate.convertAndSend(exchange, routingKey, event);
+    }
+}
@@ -0,0 +1,12 @@
+package ec.edu.espe.inventory.messaging;
+
+/**
+ * La reserva quedó registrada pero su resultado no se pudo publicar. El pedido no debe
+ * rechazarse: se vuelve a entregar el mensaje y el resultado registrado se publica de nuevo.
+ */
+public class ResultPublishException extends RuntimeException {
+
+    public ResultPublishException(Throwable cause) {
+        super("Reservation recorded but its result could not be published: " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,34 @@
+package ec.edu.espe.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Resultado de un OrderCreated ya procesado. Se inserta en la misma transacción que la
+ * reserva; la clave primaria impide reservar dos veces el mismo pedido.
+ */
+@Entity
+@Table(name = "processed_orders", indexes = @Index(name = "idx_processed_orders_processed_at", columnList = "processed_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedOrder {
+
+    @Id
+    @Column(name = "order_id", columnDefinition = "UUID")
+    private UUID orderId;
+
+    @Column(nullable = false)
+    private boolean reserved;
+
+    @Column(length = 500)
+    private String reason;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,48 @@
+package ec.edu.espe.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Unidades reservadas por un pedido para un producto, mientras el pedido no se pague ni se
+ * cancele. {@code expiresAt} nulo significa que la reserva no vence sola.
+ */
+@Entity
+@Table(name = "stock_reservations")
+@IdClass(StockReservation.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+
+    @Id
+    @Column(name = "order_id", columnDefinition = "UUID")
+    private UUID orderId;
+
+    @Id
+    @Column(name = "product_id", columnDefinition = "UUID")
+    private UUID productId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID orderId;
+        private UUID productId;
+    }
+}
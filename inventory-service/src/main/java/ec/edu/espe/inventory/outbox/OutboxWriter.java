@@ -0,0 +1,63 @@
+package ec.edu.espe.inventory.outbox;
+
+import ec.edu.espe.events.outbox.OutboxRelay;
+import ec.edu.espe.inventory.messaging.EventSink;
+import ec.edu.espe.inventory.model.OutboxMessage;
+import ec.edu.espe.inventory.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.DefaultJacksonJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * {@link EventSink} del modo outbox ({@code inventory.outbox.enabled=true}).
+ */
+@RequiredArgsConstructor
+public class OutboxWriter implements EventSink {
+
+    private final OutboxRepository outboxRepository;
+    private final MessageConverter messageConverter;
+    private final OutboxRelay outboxRelay;
+
+    /**
+     * Guarda el evento serializado (mismo cuerpo y __TypeId__ que produciría convertAndSend)
+     * en la transacción actual, que debe existir: la de la reserva, para que un fallo entre el
+     * commit de la reserva y el del evento no lo pierda. Se publica cuando esta confirma.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void send(String exchange, String routingKey, Object event) {
+        Message message = messageConverter.toMessage(event, new MessageProperties());
+        MessageProperties properties = message.getMessageProperties();
+
+        outboxRepository.save(OutboxMessage.builder()
+                .messageId(UUID.randomUUID().toString())
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .typeId(properties.getHeader(DefaultJacksonJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME))
+                .contentType(properties.getContentType())
+                .payload(message.getBody())
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+    }
+
+    @Override
+    public boolean participatesInTransaction() {
+        return true;
+    }
+}
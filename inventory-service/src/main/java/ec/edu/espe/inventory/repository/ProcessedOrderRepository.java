@@ -0,0 +1,35 @@
+package ec.edu.espe.inventory.repository;
+
+import ec.edu.espe.inventory.model.ProcessedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProcessedOrderRepository extends JpaRepository<ProcessedOrder, UUID> {
+
+    /**
+     * INSERT directo (save haría un SELECT previo por tener id asignado). Un pedido ya
+     * registrado falla con DataIntegrityViolationException.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO processed_orders (order_id, reserved, reason, processed_at) " +
+            "VALUES (:orderId, :reserved, :reason, :processedAt)", nativeQuery = true)
+    int insert(@Param("orderId") UUID orderId,
+               @Param("reserved") boolean reserved,
+               @Param("reason") String reason,
+               @Param("processedAt") LocalDateTime processedAt);
+
+    @Query("SELECT p.orderId FROM ProcessedOrder p WHERE p.processedAt >= :since")
+    List<UUID> findOrderIdsProcessedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedOrder p WHERE p.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
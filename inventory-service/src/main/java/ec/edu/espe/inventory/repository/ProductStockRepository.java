@@ -3,15 +3,62 @@ package ec.edu.espe.inventory.repository;
 import ec.edu.espe.inventory.model.ProductStock;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Repository
 public interface ProductStockRepository extends JpaRepository<ProductStock, UUID> {
 
+    /**
+     * Carga y bloquea todas las filas en una sola consulta. El orden por productId
+     * hace que pedidos concurrentes tomen los bloqueos en el mismo orden (sin deadlocks).
+     */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    Optional<ProductStock> findByProductId(UUID productId);
+    @Query("SELECT p FROM ProductStock p WHERE p.productId IN :productIds ORDER BY p.productId")
+    List<ProductStock> findAllForUpdate(@Param("productIds") Collection<UUID> productIds);
+
+    /**
+     * Decremento atómico sin bloqueo previo: devuelve 0 si no hay stock suficiente
+     * (o el producto no existe).
+     */
+    @Modifying
+    @Query("UPDATE ProductStock p SET p.availableStock = p.availableStock - :quantity, " +
+            "p.reservedStock = p.reservedStock + :quantity, p.updatedAt = :now " +
+            "WHERE p.productId = :productId AND p.availableStock >= :quantity")
+    int reserveIfAvailable(@Param("productId") UUID productId,
+                           @Param("quantity") int quantity,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * Devuelve unidades reservadas al stock disponible.
+     */
+    @Modifying
+    @Query("UPDATE ProductStock p SET p.availableStock = p.availableStock + :quantity, " +
+            "p.reservedStock = p.reservedStock - :quantity, p.updatedAt = :now " +
+            "WHERE p.productId = :productId AND p.reservedStock >= :quantity")
+    int releaseReserved(@Param("productId") UUID productId,
+                        @Param("quantity") int quantity,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * Un UPDATE por producto (no por reserva), en orden de productId como las reservas.
+     * Devuelve cuántos productos se actualizaron.
+     */
+    default int releaseAll(Map<UUID, Integer> quantities, LocalDateTime now) {
+        int released = 0;
+        for (Map.Entry<UUID, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            released += releaseReserved(entry.getKey(), entry.getValue(), now);
+        }
+        return released;
+    }
 }
@@ -0,0 +1,56 @@
+package ec.edu.espe.inventory.repository;
+
+import ec.edu.espe.inventory.model.StockReservation;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, StockReservation.Key> {
+
+    /**
+     * Bloquea las reservas vencidas de los pedidos indicados; un pago concurrente espera a
+     * que se liberen (y luego no encuentra nada que borrar).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.orderId IN :orderIds AND r.expiresAt <= :now")
+    List<StockReservation> findDueForUpdate(@Param("orderIds") Collection<UUID> orderIds, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.orderId IN :orderIds AND r.expiresAt <= :now")
+    int deleteDue(@Param("orderIds") Collection<UUID> orderIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Adelanta el vencimiento a {@code now}: la liberación la hace el tracker en su próximo lote.
+     */
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.expiresAt = :now WHERE r.orderId = :orderId")
+    int expireNow(@Param("orderId") UUID orderId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.orderId = :orderId")
+    int deleteByOrderId(@Param("orderId") UUID orderId);
+
+    /**
+     * Cierra las reservas sin vencimiento registradas antes de {@code cutoff}: las unidades
+     * siguen reservadas, solo deja de poder cancelarse el pedido.
+     */
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.expiresAt IS NULL AND r.createdAt < :cutoff")
+    int deleteUnscheduledBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Primer vencimiento de cada pedido pendiente, para reconstruir la rueda al arrancar.
+     */
+    @Query("SELECT r.orderId, MIN(r.expiresAt) FROM StockReservation r WHERE r.expiresAt IS NOT NULL GROUP BY r.orderId")
+    List<Object[]> findPendingDeadlines();
+}
@@ -0,0 +1,288 @@
+package ec.edu.espe.inventory.reservation;
+
+import ec.edu.espe.inventory.config.ReservationProperties;
+import ec.edu.espe.inventory.model.StockReservation;
+import ec.edu.espe.inventory.repository.StockReservationRepository;
+import ec.edu.espe.inventory.service.ProductStockCache;
+import ec.edu.espe.inventory.service.ReservationStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservas por pedido (stock_reservations) y su liberación. Cada reserva confirmada queda
+ * registrada con su vencimiento en una {@link TimerWheel}; un pago la da por cerrada y una
+ * cancelación adelanta su vencimiento. Un único hilo avanza la rueda cada tick y libera los
+ * pedidos vencidos por lotes: las cantidades se suman por producto, así que miles de reservas
+ * del mismo producto se devuelven con un solo UPDATE.
+ */
+@Slf4j
+public class ReservationTracker implements SmartLifecycle {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_reservations (order_id, product_id, quantity, expires_at, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final StockReservationRepository repository;
+    private final ReservationStrategy reservationStrategy;
+    private final ProductStockCache productStockCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationProperties properties;
+    private final ThreadFactory threadFactory;
+    private final TimerWheel<UUID> wheel;
+    private final Counter released;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public ReservationTracker(StockReservationRepository repository, ReservationStrategy reservationStrategy,
+                              ProductStockCache productStockCache, JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate, ReservationProperties properties,
+                              ThreadFactory threadFactory, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.reservationStrategy = reservationStrategy;
+        this.productStockCache = productStockCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.threadFactory = threadFactory;
+        this.wheel = new TimerWheel<>(properties.getTick().toMillis(), System.currentTimeMillis());
+        this.released = Counter.builder("inventory.reservations.released")
+                .description("Orders whose reserved units went back to available stock")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservations.pending", this, tracker -> tracker.pendingTimers())
+                .description("Reservations with a scheduled expiry")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra las reservas de un lote de pedidos (cantidades por producto) en la transacción
+     * del llamador; los temporizadores se programan después del commit.
+     */
+    public void trackAll(Map<UUID, Map<UUID, Integer>> quantitiesByOrder) {
+        if (quantitiesByOrder.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = properties.isExpiryEnabled() ? now.plus(properties.getTtl()) : null;
+        List<Object[]> rows = new ArrayList<>();
+        quantitiesByOrder.forEach((orderId, quantities) -> quantities.forEach((productId, quantity) ->
+                rows.add(new Object[]{orderId, productId, quantity,
+                        expiresAt == null ? null : Timestamp.valueOf(expiresAt), Timestamp.valueOf(now)})));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        if (expiresAt != null) {
+            long deadline = toMillis(expiresAt);
+            afterCommit(() -> schedule(quantitiesByOrder.keySet(), deadline));
+        }
+    }
+
+    public void track(UUID orderId, Map<UUID, Integer> quantities) {
+        trackAll(Map.of(orderId, quantities));
+    }
+
+    /**
+     * Pedido cancelado: su reserva vence ya y se libera en el próximo tick, con las demás.
+     */
+    public void cancel(UUID orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = transactionTemplate.execute(status -> repository.expireNow(orderId, now));
+        if (updated == null || updated == 0) {
+            log.info("No pending reservation to release for cancelled order {}", orderId);
+            return;
+        }
+        schedule(List.of(orderId), toMillis(now));
+    }
+
+    /**
+     * Pedido pagado: las unidades quedan reservadas para el despacho y dejan de vencer.
+     */
+    public void complete(UUID orderId) {
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteByOrderId(orderId));
+        synchronized (wheel) {
+            wheel.cancel(orderId);
+        }
+        if (deleted == null || deleted == 0) {
+            log.warn("Order {} paid but it has no pending reservation (already released or unknown)", orderId);
+        }
+    }
+
+    /** Libera los pedidos vencidos hasta ahora y devuelve cuántos se liberaron. */
+    public int releaseDue() {
+        List<UUID> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        int releasedOrders = 0;
+        for (int from = 0; from < due.size(); from += properties.getReleaseBatchSize()) {
+            List<UUID> batch = due.subList(from, Math.min(due.size(), from + properties.getReleaseBatchSize()));
+            try {
+                releasedOrders += releaseBatch(batch);
+            } catch (RuntimeException e) {
+                // Las filas siguen en stock_reservations; se reintenta el lote en el siguiente tick
+                log.error("Reservation release failed for {} orders, retrying next tick", batch.size(), e);
+                schedule(new ArrayList<>(batch), System.currentTimeMillis());
+            }
+        }
+        return releasedOrders;
+    }
+
+    /**
+     * Borra las filas vencidas y libera sus unidades en la misma transacción. Si la estrategia
+     * no libera dentro de la transacción (ledger), primero se confirma el borrado y después se
+     * libera lo borrado: un rollback o un reintento no pueden liberar dos veces el mismo pedido.
+     */
+    private int releaseBatch(List<UUID> orderIds) {
+        LocalDateTime now = LocalDateTime.now();
+        boolean inTransaction = reservationStrategy.releasesInTransaction();
+        List<StockReservation> rows = transactionTemplate.execute(status -> {
+            List<StockReservation> locked = repository.findDueForUpdate(orderIds, now);
+            if (locked.isEmpty()) {
+                return locked;
+            }
+            if (inTransaction) {
+                reservationStrategy.release(quantitiesByProduct(locked));
+            }
+            repository.deleteDue(orderIds, now);
+            return locked;
+        });
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+        if (!inTransaction) {
+            try {
+                reservationStrategy.release(quantitiesByProduct(rows));
+            } catch (RuntimeException e) {
+                // Las filas ya no están: no se reintenta, las unidades quedan reservadas
+                log.error("Reservation rows of {} orders deleted but their units were not released", orderIds.size(), e);
+                return 0;
+            }
+        }
+
+        List<UUID> products = rows.stream().map(StockReservation::getProductId).distinct().toList();
+        productStockCache.invalidate(products);
+        int orders = (int) rows.stream().map(StockReservation::getOrderId).distinct().count();
+        released.increment(orders);
+        log.info("Released reservations of {} orders ({} products)", orders, products.size());
+        return orders;
+    }
+
+    private static Map<UUID, Integer> quantitiesByProduct(List<StockReservation> rows) {
+        Map<UUID, Integer> quantities = new HashMap<>();
+        rows.forEach(row -> quantities.merge(row.getProductId(), row.getQuantity(), Integer::sum));
+        return quantities;
+    }
+
+    private void schedule(Iterable<UUID> orderIds, long deadlineMillis) {
+        synchronized (wheel) {
+            orderIds.forEach(orderId -> wheel.schedule(orderId, deadlineMillis));
+        }
+    }
+
+    private int pendingTimers() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private void releaseSafely() {
+        try {
+            releaseDue();
+        } catch (RuntimeException e) {
+            log.error("Reservation release failed", e);
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            purgeUnscheduled();
+        } catch (RuntimeException e) {
+            log.error("Reservation purge failed", e);
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Borra las reservas sin vencimiento más antiguas que {@code retention} sin liberar sus
+     * unidades; sin esto, con el vencimiento desactivado y sin OrderPaid, la tabla solo crece.
+     * Devuelve las filas borradas.
+     */
+    public int purgeUnscheduled() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteUnscheduledBefore(cutoff));
+        if (deleted != null && deleted > 0) {
+            log.info("Closed {} reservation rows older than {} without expiry", deleted, properties.getRetention());
+        }
+        return deleted == null ? 0 : deleted;
+    }
+
+    @Override
+    public void start() {
+        // Reconstruye la rueda con las reservas pendientes: no hay que recorrer la tabla después
+        List<Object[]> pending = repository.findPendingDeadlines();
+        synchronized (wheel) {
+            for (Object[] row : pending) {
+                wheel.schedule((UUID) row[0], toMillis((LocalDateTime) row[1]));
+            }
+        }
+        log.info("Scheduled {} pending reservations", pending.size());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long tick = properties.getTick().toMillis();
+        scheduler.scheduleWithFixedDelay(this::releaseSafely, tick, tick, TimeUnit.MILLISECONDS);
+        long purge = properties.getPurgeInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::purgeSafely, purge, purge, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
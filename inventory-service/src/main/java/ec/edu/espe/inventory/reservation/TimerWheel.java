@@ -0,0 +1,134 @@
+package ec.edu.espe.inventory.reservation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rueda de temporizadores jerárquica: 4 niveles de 64 ranuras. Con ticks de 1 s el nivel 0
+ * cubre ~1 minuto, el 1 ~1 hora, el 2 ~3 días y el 3 ~6 meses; lo que queda más lejos espera
+ * en un conjunto de desborde. Programar y cancelar son O(1) y avanzar un tick solo toca las
+ * ranuras que vencen, sin recorrer todos los temporizadores. No es segura entre hilos.
+ */
+public class TimerWheel<K> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final int OVERFLOW = -1;
+
+    private final long tickMillis;
+    private final List<Set<K>> buckets = new ArrayList<>(LEVELS * SLOTS);
+    private final Set<K> overflow = new HashSet<>();
+    private final Map<K, Timer> timers = new HashMap<>();
+    private long currentTick;
+
+    private record Timer(long deadlineTick, int bucket) {
+    }
+
+    public TimerWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            buckets.add(new HashSet<>());
+        }
+    }
+
+    /**
+     * Programa (o reprograma) la clave. Un plazo ya vencido sale en el siguiente tick.
+     */
+    public void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        place(key, deadlineTick);
+    }
+
+    public boolean cancel(K key) {
+        Timer timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        bucketOf(timer.bucket()).remove(key);
+        return true;
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    /**
+     * Avanza hasta {@code nowMillis} y devuelve las claves vencidas, que dejan de estar programadas.
+     */
+    public List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> expired = new ArrayList<>();
+        if (timers.isEmpty()) {
+            currentTick = Math.max(currentTick, targetTick);
+            return expired;
+        }
+
+        while (currentTick < targetTick) {
+            currentTick++;
+            if ((currentTick & levelMask(LEVELS)) == 0) {
+                replace(overflow);
+            }
+            // Al completar una vuelta del nivel l, la ranura actual del nivel l + 1 baja de nivel;
+            // primero los niveles altos para que sus claves alcancen a bajar hasta el nivel 0
+            int highest = 0;
+            while (highest < LEVELS - 1 && (currentTick & levelMask(highest + 1)) == 0) {
+                highest++;
+            }
+            for (int level = highest; level >= 1; level--) {
+                replace(buckets.get(level * SLOTS + digit(currentTick, level)));
+            }
+
+            Set<K> due = buckets.get(digit(currentTick, 0));
+            for (K key : due) {
+                timers.remove(key);
+                expired.add(key);
+            }
+            due.clear();
+        }
+        return expired;
+    }
+
+    private void place(K key, long deadlineTick) {
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((deadlineTick >>> shift) == (currentTick >>> shift)) {
+                int bucket = level * SLOTS + digit(deadlineTick, level);
+                buckets.get(bucket).add(key);
+                timers.put(key, new Timer(deadlineTick, bucket));
+                return;
+            }
+        }
+        overflow.add(key);
+        timers.put(key, new Timer(deadlineTick, OVERFLOW));
+    }
+
+    private void replace(Set<K> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        List<K> keys = new ArrayList<>(bucket);
+        bucket.clear();
+        for (K key : keys) {
+            place(key, timers.get(key).deadlineTick());
+        }
+    }
+
+    private Set<K> bucketOf(int bucket) {
+        return bucket == OVERFLOW ? overflow : buckets.get(bucket);
+    }
+
+    private static int digit(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+    }
+
+    private static long levelMask(int level) {
+        return (1L << (SLOT_BITS * level)) - 1;
+    }
+}
@@ -0,0 +1,66 @@
+package ec.edu.espe.inventory.service;
+
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.repository.ProductStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reserva sin SELECT ... FOR UPDATE: cada producto se decrementa con un UPDATE condicionado
+ * a {@code available_stock >= cantidad} y se revisa el número de filas afectadas.
+ * El bloqueo de la fila dura solo lo que tarda el UPDATE dentro de la transacción.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.reservation.strategy", havingValue = "conditional-update")
+@RequiredArgsConstructor
+@Slf4j
+public class ConditionalUpdateReservationStrategy implements ReservationStrategy {
+
+    private final ProductStockRepository productStockRepository;
+    private final InventoryMetrics inventoryMetrics;
+
+    @Override
+    @Transactional
+    public ReservationResult reserve(UUID orderId, List<OrderItem> items) {
+        // Orden por productId para que pedidos concurrentes bloqueen filas en el mismo orden
+        Map<UUID, Integer> requested = ReservationStrategy.quantitiesByProduct(items);
+        LocalDateTime now = LocalDateTime.now();
+        List<Map.Entry<UUID, Integer>> applied = new ArrayList<>(requested.size());
+
+        for (Map.Entry<UUID, Integer> entry : requested.entrySet()) {
+            int updated = inventoryMetrics.timeConditionalUpdate(
+                    () -> productStockRepository.reserveIfAvailable(entry.getKey(), entry.getValue(), now));
+            if (updated == 0) {
+                log.debug("Insufficient stock for product {}: requested={}", entry.getKey(), entry.getValue());
+                // Se compensan los items ya aplicados en lugar de marcar la transacción como
+                // rollback-only, así la estrategia puede participar en la transacción de quien la llama
+                for (Map.Entry<UUID, Integer> done : applied) {
+                    productStockRepository.releaseReserved(done.getKey(), done.getValue(), now);
+                }
+                return ReservationResult.insufficientStock(orderId, entry.getKey());
+            }
+            applied.add(entry);
+        }
+
+        return ReservationResult.reserved(orderId);
+    }
+
+    @Override
+    @Transactional
+    public void release(Map<UUID, Integer> quantities) {
+        int released = productStockRepository.releaseAll(quantities, LocalDateTime.now());
+        if (released < quantities.size()) {
+            log.warn("Released {} of {} products: the rest were not found or had less reserved stock", released, quantities.size());
+        }
+    }
+}
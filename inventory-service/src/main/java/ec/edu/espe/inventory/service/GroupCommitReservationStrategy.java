@@ -0,0 +1,280 @@
+package ec.edu.espe.inventory.service;
+
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.dto.ReservationRequest;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.model.ProductStock;
+import ec.edu.espe.inventory.repository.ProductStockRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reserva con group commit: las reservas que llegan dentro de una ventana corta (o hasta
+ * {@code maxBatch}) se deciden juntas en una sola transacción, y cada producto tocado se
+ * escribe una vez con su saldo neto. Un único hilo escritor hace los commits; cada llamador
+ * espera al commit de su lote. Con un SKU caliente, cientos de reservas por segundo terminan
+ * en unas pocas escrituras de la fila.
+ */
+@Slf4j
+public class GroupCommitReservationStrategy implements ReservationStrategy, AutoCloseable {
+
+    private final ProductStockRepository productStockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryMetrics inventoryMetrics;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final BlockingQueue<PendingReservation> queue;
+    private final Thread writer;
+    private final AtomicLong reservations = new AtomicLong();
+    private final AtomicLong rowWrites = new AtomicLong();
+    private final Counter commits;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running = true;
+
+    private record PendingReservation(UUID orderId, List<OrderItem> items, CompletableFuture<ReservationResult> done) {
+    }
+
+    public GroupCommitReservationStrategy(ProductStockRepository productStockRepository,
+                                          TransactionTemplate transactionTemplate, Duration window, int maxBatch,
+                                          int queueCapacity, InventoryMetrics inventoryMetrics, MeterRegistry meterRegistry) {
+        this.productStockRepository = productStockRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.inventoryMetrics = inventoryMetrics;
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        FunctionCounter.builder("inventory.group-commit.reservations", reservations, AtomicLong::get)
+                .description("Reservations decided by the group commit writer")
+                .register(meterRegistry);
+        FunctionCounter.builder("inventory.group-commit.row.writes", rowWrites, AtomicLong::get)
+                .description("products_stock rows written by the group commit writer")
+                .register(meterRegistry);
+        Gauge.builder("inventory.group-commit.coalescing.ratio", this, strategy -> strategy.coalescingRatio())
+                .description("Reservations per products_stock row write since startup")
+                .register(meterRegistry);
+        this.commits = Counter.builder("inventory.group-commit.commits").register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("inventory.group-commit.batch.size").register(meterRegistry);
+
+        this.writer = Thread.ofPlatform().name("stock-group-commit").daemon().start(this::writeLoop);
+    }
+
+    @Override
+    public boolean participatesInTransaction() {
+        return false;
+    }
+
+    @Override
+    public ReservationResult reserve(UUID orderId, List<OrderItem> items) {
+        return join(submit(orderId, items));
+    }
+
+    /**
+     * Encola todo el lote antes de esperar, así cae en el mismo group commit. Si alguna reserva
+     * falla (cola llena, commit fallido) las demás pueden haber confirmado en otro lote: se
+     * espera a todas, se devuelven las unidades de las que reservaron y se lanza el primer error,
+     * así el llamador puede reintentar el lote sin reservar dos veces.
+     */
+    @Override
+    public List<ReservationResult> reserveAll(List<ReservationRequest> requests) {
+        List<CompletableFuture<ReservationResult>> pending = requests.stream()
+                .map(request -> submit(request.getOrderId(), request.getItems()))
+                .toList();
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).handle((ignored, error) -> null).join();
+
+        List<ReservationResult> results = new ArrayList<>(requests.size());
+        Map<UUID, Integer> reserved = new HashMap<>();
+        RuntimeException failure = null;
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                ReservationResult result = join(pending.get(i));
+                results.add(result);
+                if (result.isReserved()) {
+                    ReservationStrategy.quantitiesByProduct(requests.get(i).getItems())
+                            .forEach((productId, quantity) -> reserved.merge(productId, quantity, Integer::sum));
+                }
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure == null) {
+            return results;
+        }
+
+        if (!reserved.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> release(reserved));
+            } catch (RuntimeException e) {
+                log.error("Could not release {} products after a failed group commit batch", reserved.size(), e);
+                failure.addSuppressed(e);
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Las liberaciones ya van agrupadas por producto; se aplican en la transacción del llamador.
+     */
+    @Override
+    public void release(Map<UUID, Integer> quantities) {
+        int released = productStockRepository.releaseAll(quantities, LocalDateTime.now());
+        if (released < quantities.size()) {
+            log.warn("Released {} of {} products: the rest were not found or had less reserved stock", released, quantities.size());
+        }
+    }
+
+    public double coalescingRatio() {
+        long writes = rowWrites.get();
+        return writes == 0 ? 0 : (double) reservations.get() / writes;
+    }
+
+    private CompletableFuture<ReservationResult> submit(UUID orderId, List<OrderItem> items) {
+        PendingReservation pending = new PendingReservation(orderId, items, new CompletableFuture<>());
+        if (!running) {
+            pending.done().completeExceptionally(new IllegalStateException("Group commit writer is closed"));
+        } else if (!queue.offer(pending)) {
+            pending.done().completeExceptionally(new IllegalStateException("Group commit queue is full"));
+        }
+        return pending.done();
+    }
+
+    private static ReservationResult join(CompletableFuture<ReservationResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingReservation> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingReservation first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // La ventana empieza con la primera reserva: nadie espera más que window + commit
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    PendingReservation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Group commit writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingReservation> batch) {
+        List<ReservationResult> results;
+        Set<UUID> written = new HashSet<>();
+        try {
+            results = transactionTemplate.execute(status -> {
+                ReservationResult[] decided = new ReservationResult[batch.size()];
+                List<Map<UUID, Integer>> requested = new ArrayList<>(batch.size());
+                TreeSet<UUID> productIds = new TreeSet<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    Map<UUID, Integer> quantities = null;
+                    try {
+                        quantities = ReservationStrategy.quantitiesByProduct(batch.get(i).items());
+                        productIds.addAll(quantities.keySet());
+                    } catch (RuntimeException e) {
+                        decided[i] = ReservationResult.failed(batch.get(i).orderId(), e.getMessage());
+                    }
+                    requested.add(quantities);
+                }
+
+                // Un solo SELECT ... FOR UPDATE ordenado para todo el lote
+                Map<UUID, ProductStock> stocks = inventoryMetrics.timeLockWait(() -> productStockRepository.findAllForUpdate(productIds)).stream()
+                        .collect(Collectors.toMap(ProductStock::getProductId, Function.identity()));
+
+                // En orden de llegada: cada reserva ve el saldo que dejaron las anteriores del lote
+                for (int i = 0; i < batch.size(); i++) {
+                    Map<UUID, Integer> quantities = requested.get(i);
+                    if (quantities == null) {
+                        continue;
+                    }
+                    decided[i] = PessimisticReservationStrategy.apply(batch.get(i).orderId(), quantities, stocks);
+                    if (decided[i].isReserved()) {
+                        written.addAll(quantities.keySet());
+                    }
+                }
+                // Un UPDATE por producto con el saldo neto del lote (dirty checking al hacer flush)
+                productStockRepository.saveAll(written.stream().map(stocks::get).toList());
+                return List.of(decided);
+            });
+        } catch (RuntimeException e) {
+            log.error("Group commit of {} reservations failed", batch.size(), e);
+            batch.forEach(pending -> pending.done().completeExceptionally(e));
+            return;
+        }
+
+        reservations.addAndGet(batch.size());
+        rowWrites.addAndGet(written.size());
+        commits.increment();
+        batchSizes.record(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).done().complete(results.get(i));
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            writer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingReservation pending;
+        while ((pending = queue.poll()) != null) {
+            pending.done().completeExceptionally(new IllegalStateException("Group commit writer is closed"));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ec.edu.espe.inventory.service;
+
+import ec.edu.espe.inventory.dto.ReservationResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers del camino de reserva. Se registran una vez y se publican como histogramas
+ * (buckets en /actuator/prometheus), así los percentiles se agregan entre instancias.
+ */
+@Component
+public class InventoryMetrics {
+
+    private final Timer lockWait;
+    private final Timer conditionalUpdate;
+    private final Timer reserved;
+    private final Timer rejected;
+    private final Timer duplicate;
+    private final Timer publishReserved;
+    private final Timer publishRejected;
+
+    public InventoryMetrics(MeterRegistry meterRegistry) {
+        this.lockWait = lockWait("select-for-update").register(meterRegistry);
+        this.conditionalUpdate = lockWait("conditional-update").register(meterRegistry);
+        this.reserved = reservation("reserved").register(meterRegistry);
+        this.rejected = reservation("rejected").register(meterRegistry);
+        this.duplicate = reservation("duplicate").register(meterRegistry);
+        this.publishReserved = histogram("inventory.events.publish.latency", "Time to hand a result event to the configured sink")
+                .tag("event", "StockReserved").register(meterRegistry);
+        this.publishRejected = histogram("inventory.events.publish.latency", "Time to hand a result event to the configured sink")
+                .tag("event", "StockRejected").register(meterRegistry);
+    }
+
+    public <T> T timeLockWait(Supplier<T> lookup) {
+        return lockWait.record(lookup);
+    }
+
+    public int timeConditionalUpdate(Supplier<Integer> update) {
+        return conditionalUpdate.record(update);
+    }
+
+    /** Latencia de reserva de un pedido, desde que llega al servicio hasta que hay resultado. */
+    public void recordReservation(ReservationResult result, boolean previous, long startNanos) {
+        Timer timer = previous ? duplicate : result.isReserved() ? reserved : rejected;
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPublish(boolean stockReserved, long startNanos) {
+        (stockReserved ? publishReserved : publishRejected).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer.Builder lockWait(String statement) {
+        return histogram("inventory.stock.lock.wait", "Locking statement on products_stock, including the wait for the row locks")
+                .tag("statement", statement);
+    }
+
+    private static Timer.Builder reservation(String outcome) {
+        return histogram("inventory.reservation.latency", "Per-order reservation latency").tag("outcome", outcome);
+    }
+
+    private static Timer.Builder histogram(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10));
+    }
+}
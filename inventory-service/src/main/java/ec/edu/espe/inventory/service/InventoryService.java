@@ -1,16 +1,33 @@
 package ec.edu.espe.inventory.service;
 
-import ec.edu.espe.inventory.dto.OrderItem;
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.dto.ProductStockLookup;
 import ec.edu.espe.inventory.dto.ProductStockResponse;
+import ec.edu.espe.inventory.dto.ReservationRequest;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.idempotency.ProcessedOrderStore;
+import ec.edu.espe.inventory.messaging.EventPublisher;
+import ec.edu.espe.inventory.messaging.ResultPublishException;
 import ec.edu.espe.inventory.model.ProductStock;
 import ec.edu.espe.inventory.repository.ProductStockRepository;
+import ec.edu.espe.inventory.reservation.ReservationTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -19,66 +36,263 @@ import java.util.UUID;
 public class InventoryService {
 
     private final ProductStockRepository productStockRepository;
+    private final ReservationStrategy reservationStrategy;
+    private final ProductStockCache productStockCache;
+    private final ProcessedOrderStore processedOrderStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ReservationTracker reservationTracker;
+    private final InventoryMetrics inventoryMetrics;
+    private final EventPublisher eventPublisher;
 
     /**
-     * Verifica si hay stock suficiente para todos los items del pedido
+     * Verifica y reserva el stock del pedido en una sola transacción, según la
+     * estrategia configurada en {@code inventory.reservation.strategy}. Es idempotente: si el
+     * pedido ya se procesó devuelve el resultado de entonces sin volver a reservar. No publica
+     * el resultado.
      */
-    @Transactional(readOnly = true)
-    public boolean checkStockAvailability(List<OrderItem> items) {
-        log.info("Checking stock availability for {} items", items.size());
-        
-        for (OrderItem item : items) {
-            Optional<ProductStock> stockOpt = productStockRepository.findByProductId(item.getProductId());
-            
-            if (stockOpt.isEmpty()) {
-                log.warn("Product not found: {}", item.getProductId());
-                return false;
+    public ReservationResult reserve(UUID orderId, List<OrderItem> items) {
+        return reserve(new ReservationRequest(orderId, itemsOf(items)), Map.of());
+    }
+
+    /**
+     * Reserva el stock del pedido y publica StockReserved o StockRejected. Con el outbox el
+     * evento se escribe en la transacción de la reserva; si no, se publica después del commit.
+     * Un pedido ya procesado vuelve a publicar el resultado de entonces.
+     *
+     * @throws ResultPublishException si la reserva quedó registrada pero no se pudo publicar
+     */
+    public ReservationResult reserveAndPublish(OrderCreatedEvent event) {
+        return reserve(new ReservationRequest(event.getOrderId(), itemsOf(event.getItems())),
+                Map.of(event.getOrderId(), event));
+    }
+
+    /**
+     * Reserva un lote de pedidos y publica el resultado de cada uno, como
+     * {@link #reserveAndPublish}. Los pedidos ya procesados (o repetidos dentro del lote)
+     * reciben el resultado anterior.
+     */
+    public List<ReservationResult> reserveAllAndPublish(List<OrderCreatedEvent> events) {
+        long start = System.nanoTime();
+        log.debug("Reserving stock for a batch of {} orders", events.size());
+        List<ReservationRequest> requests = new ArrayList<>(events.size());
+        Map<UUID, OrderCreatedEvent> origins = new HashMap<>();
+        for (OrderCreatedEvent event : events) {
+            requests.add(new ReservationRequest(event.getOrderId(), itemsOf(event.getItems())));
+            origins.putIfAbsent(event.getOrderId(), event);
+        }
+
+        Map<UUID, ReservationResult> results = processedOrderStore.previousResults(
+                requests.stream().map(ReservationRequest::getOrderId).toList());
+        Set<UUID> previous = new HashSet<>(results.keySet());
+        publish(new ArrayList<>(results.values()), origins);
+
+        Map<UUID, ReservationRequest> pending = new LinkedHashMap<>();
+        for (ReservationRequest request : requests) {
+            if (!results.containsKey(request.getOrderId())) {
+                pending.putIfAbsent(request.getOrderId(), request);
             }
-            
-            ProductStock stock = stockOpt.get();
-            if (stock.getAvailableStock() < item.getQuantity()) {
-                log.warn("Insufficient stock for product {}: available={}, requested={}", 
-                    item.getProductId(), stock.getAvailableStock(), item.getQuantity());
-                return false;
+        }
+
+        if (!pending.isEmpty()) {
+            // Un duplicado concurrente hace fallar el lote entero; el consumidor reintenta pedido a pedido
+            reserveAndRecord(new ArrayList<>(pending.values()), origins)
+                    .forEach(result -> results.put(result.getOrderId(), result));
+        }
+
+        // Cada pedido del lote esperó lo mismo: el lote completo
+        List<ReservationResult> ordered = requests.stream().map(request -> results.get(request.getOrderId())).toList();
+        ordered.forEach(result -> inventoryMetrics.recordReservation(result, previous.contains(result.getOrderId()), start));
+        return ordered;
+    }
+
+    /**
+     * Publica StockRejected para un pedido cuya reserva falló con una excepción.
+     */
+    public void publishRejection(OrderCreatedEvent event, String reason) {
+        if (eventPublisher.participatesInTransaction()) {
+            transactionTemplate.executeWithoutResult(status -> eventPublisher.publishStockRejected(event, reason));
+        } else {
+            eventPublisher.publishStockRejected(event, reason);
+        }
+    }
+
+    // Un pedido sin items no se reserva: la estrategia lo rechaza y se publica StockRejected
+    private static List<OrderItem> itemsOf(List<OrderItem> items) {
+        return items == null ? List.of() : items;
+    }
+
+    private ReservationResult reserve(ReservationRequest request, Map<UUID, OrderCreatedEvent> origins) {
+        long start = System.nanoTime();
+        UUID orderId = request.getOrderId();
+        Optional<ReservationResult> previous = processedOrderStore.previousResult(orderId);
+        if (previous.isPresent()) {
+            inventoryMetrics.recordReservation(previous.get(), true, start);
+            publish(List.of(previous.get()), origins);
+            return previous.get();
+        }
+
+        log.debug("Reserving stock for order: {} ({} items)", orderId, request.getItems().size());
+        ReservationResult result;
+        boolean duplicate = false;
+        try {
+            result = reserveAndRecord(List.of(request), origins).get(0);
+        } catch (DataIntegrityViolationException e) {
+            // Otra entrega del mismo pedido se registró primero; esta reserva ya se deshizo
+            result = processedOrderStore.previousResult(orderId).orElseThrow(() -> e);
+            duplicate = true;
+            publish(List.of(result), origins);
+        }
+        inventoryMetrics.recordReservation(result, duplicate, start);
+        return result;
+    }
+
+    /**
+     * Reserva y registra el resultado (processed_orders, stock_reservations y, con el outbox,
+     * los eventos de {@code origins}). Si la estrategia trabaja en la transacción del llamador
+     * todo va en una; si confirma por su cuenta (ledger, group commit) se reserva fuera, sin
+     * retener una conexión mientras espera, y si el registro falla se devuelven las unidades.
+     * Sin outbox los eventos se publican después del commit.
+     */
+    private List<ReservationResult> reserveAndRecord(List<ReservationRequest> requests,
+                                                     Map<UUID, OrderCreatedEvent> origins) {
+        List<ReservationResult> recorded;
+        if (reservationStrategy.participatesInTransaction()) {
+            recorded = transactionTemplate.execute(status ->
+                    record(requests, reservationStrategy.reserveAll(requests), origins));
+        } else {
+            List<ReservationResult> results = reservationStrategy.reserveAll(requests);
+            try {
+                recorded = transactionTemplate.execute(status -> record(requests, results, origins));
+            } catch (RuntimeException e) {
+                Map<UUID, Integer> reserved = new HashMap<>();
+                for (int i = 0; i < requests.size(); i++) {
+                    if (results.get(i).isReserved()) {
+                        ReservationStrategy.quantitiesByProduct(requests.get(i).getItems())
+                                .forEach((productId, quantity) -> reserved.merge(productId, quantity, Integer::sum));
+                    }
+                }
+                if (!reserved.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> reservationStrategy.release(reserved));
+                }
+                throw e;
             }
         }
-        
-        log.info("Stock availability check passed");
-        return true;
+        if (!eventPublisher.participatesInTransaction()) {
+            publish(recorded, origins);
+        }
+        return recorded;
+    }
+
+    private List<ReservationResult> record(List<ReservationRequest> requests, List<ReservationResult> results,
+                                           Map<UUID, OrderCreatedEvent> origins) {
+        results.forEach(processedOrderStore::record);
+
+        List<UUID> touched = new ArrayList<>();
+        Map<UUID, Map<UUID, Integer>> reservedQuantities = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results.get(i).isReserved()) {
+                ReservationRequest request = requests.get(i);
+                request.getItems().forEach(item -> touched.add(item.getProductId()));
+                reservedQuantities.put(request.getOrderId(), ReservationStrategy.quantitiesByProduct(request.getItems()));
+            }
+        }
+        reservationTracker.trackAll(reservedQuantities);
+        if (eventPublisher.participatesInTransaction()) {
+            publishResults(results, origins);
+        }
+        invalidateAfterCommit(touched);
+        return results;
     }
 
     /**
-     * Reserva stock para los items del pedido
+     * Publica resultados ya registrados (después del commit, o de un pedido repetido): con el
+     * outbox, en una transacción propia. Un fallo aquí no deshace la reserva.
      */
-    @Transactional
-    public void reserveStock(UUID orderId, List<OrderItem> items) {
-        log.info("Reserving stock for order: {}", orderId);
-        
-        for (OrderItem item : items) {
-            ProductStock stock = productStockRepository.findByProductId(item.getProductId())
-                    .orElseThrow(() -> new RuntimeException("Product not found: " + item.getProductId()));
-            
-            // Decrementar stock disponible e incrementar stock reservado
-            stock.setAvailableStock(stock.getAvailableStock() - item.getQuantity());
-            stock.setReservedStock(stock.getReservedStock() + item.getQuantity());
-            
-            productStockRepository.save(stock);
-            log.info("Reserved {} units of product {}", item.getQuantity(), item.getProductId());
-        }
-        
-        log.info("Stock reservation completed for order: {}", orderId);
+    private void publish(List<ReservationResult> results, Map<UUID, OrderCreatedEvent> origins) {
+        if (origins.isEmpty() || results.isEmpty()) {
+            return;
+        }
+        try {
+            if (eventPublisher.participatesInTransaction()) {
+                transactionTemplate.executeWithoutResult(status -> publishResults(results, origins));
+            } else {
+                publishResults(results, origins);
+            }
+        } catch (RuntimeException e) {
+            throw new ResultPublishException(e);
+        }
+    }
+
+    private void publishResults(List<ReservationResult> results, Map<UUID, OrderCreatedEvent> origins) {
+        for (ReservationResult result : results) {
+            OrderCreatedEvent origin = origins.get(result.getOrderId());
+            if (origin != null) {
+                eventPublisher.publishResult(result, origin);
+            }
+        }
     }
 
     /**
-     * Obtiene el stock de un producto específico
+     * Obtiene el stock de un producto específico. Sin transacción propia: un acierto en
+     * caché no debe tomar una conexión del pool.
      */
-    @Transactional(readOnly = true)
     public ProductStockResponse getProductStock(UUID productId) {
-        log.info("Getting stock for product: {}", productId);
-        
-        ProductStock stock = productStockRepository.findByProductId(productId)
+        log.debug("Getting stock for product: {}", productId);
+
+        Optional<ProductStockResponse> current = reservationStrategy.currentStock(productId);
+        if (current.isPresent()) {
+            return current.get();
+        }
+
+        return productStockCache.get(productId, this::loadProductStock);
+    }
+
+    /**
+     * Consulta masiva: una sola consulta IN para todos los ids válidos. Devuelve un
+     * resultado por id, en el orden recibido; los ids inválidos o inexistentes no hacen
+     * fallar la consulta. Si la estrategia mantiene el stock fuera de la base de datos
+     * (ledger), sus saldos reemplazan a los de la tabla.
+     */
+    public List<ProductStockLookup> lookupStock(List<String> productIds) {
+        Map<String, UUID> valid = new HashMap<>();
+        for (String raw : productIds) {
+            try {
+                valid.put(raw, UUID.fromString(raw));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                // se informa como INVALID_ID
+            }
+        }
+
+        Map<UUID, ProductStock> found = new HashMap<>();
+        productStockRepository.findAllById(new HashSet<>(valid.values()))
+                .forEach(stock -> found.put(stock.getProductId(), stock));
+
+        Map<UUID, ProductStockResponse> current = reservationStrategy.currentStocks(found.keySet());
+
+        List<ProductStockLookup> results = new ArrayList<>(productIds.size());
+        for (String raw : productIds) {
+            UUID productId = valid.get(raw);
+            if (productId == null) {
+                results.add(ProductStockLookup.invalidId(raw));
+            } else if (!found.containsKey(productId)) {
+                results.add(ProductStockLookup.notFound(raw));
+            } else {
+                ProductStockResponse stock = current.get(productId);
+                results.add(ProductStockLookup.found(stock != null ? stock : toResponse(found.get(productId))));
+            }
+        }
+        return results;
+    }
+
+    private ProductStockResponse loadProductStock(UUID productId) {
+        // Lectura sin bloqueo: las consultas de stock no necesitan FOR UPDATE
+        ProductStock stock = productStockRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found: " + productId));
-        
+
+        return toResponse(stock);
+    }
+
+    private static ProductStockResponse toResponse(ProductStock stock) {
         return new ProductStockResponse(
                 stock.getProductId(),
                 stock.getAvailableStock(),
@@ -88,17 +302,18 @@ public class InventoryService {
     }
 
     /**
-     * Encuentra el primer producto sin stock suficiente
+     * Invalida la caché de consulta cuando el cambio de stock ya es visible (después del commit).
      */
-    @Transactional(readOnly = true)
-    public UUID findFirstInsufficientStockProduct(List<OrderItem> items) {
-        for (OrderItem item : items) {
-            Optional<ProductStock> stockOpt = productStockRepository.findByProductId(item.getProductId());
-            
-            if (stockOpt.isEmpty() || stockOpt.get().getAvailableStock() < item.getQuantity()) {
-                return item.getProductId();
-            }
+    private void invalidateAfterCommit(List<UUID> productIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    productStockCache.invalidate(productIds);
+                }
+            });
+        } else {
+            productStockCache.invalidate(productIds);
         }
-        return null;
     }
 }
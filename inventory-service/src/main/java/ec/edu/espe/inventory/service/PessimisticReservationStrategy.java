@@ -0,0 +1,124 @@
+package ec.edu.espe.inventory.service;
+
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.dto.ReservationRequest;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.model.ProductStock;
+import ec.edu.espe.inventory.repository.ProductStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reserva con SELECT ... FOR UPDATE: bloquea todas las filas del pedido con una única
+ * consulta y aplica los decrementos solo si todos los items alcanzan.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.reservation.strategy", havingValue = "pessimistic", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class PessimisticReservationStrategy implements ReservationStrategy {
+
+    private final ProductStockRepository productStockRepository;
+    private final InventoryMetrics inventoryMetrics;
+
+    @Override
+    @Transactional
+    public ReservationResult reserve(UUID orderId, List<OrderItem> items) {
+        Map<UUID, Integer> requested = ReservationStrategy.quantitiesByProduct(items);
+
+        Map<UUID, ProductStock> stocks = lockAll(requested.keySet()).stream()
+                .collect(Collectors.toMap(ProductStock::getProductId, Function.identity()));
+
+        ReservationResult result = apply(orderId, requested, stocks);
+        if (result.isReserved()) {
+            productStockRepository.saveAll(stocks.values());
+        }
+        return result;
+    }
+
+    /**
+     * Lote en una sola transacción: bloquea de una vez todos los productos del lote
+     * (ordenados) y decide cada pedido en memoria sobre los saldos que dejaron los anteriores.
+     */
+    @Override
+    @Transactional
+    public List<ReservationResult> reserveAll(List<ReservationRequest> requests) {
+        List<Map<UUID, Integer>> requestedPerOrder = new ArrayList<>(requests.size());
+        Map<UUID, String> invalid = new HashMap<>();
+        TreeSet<UUID> productIds = new TreeSet<>();
+        for (ReservationRequest request : requests) {
+            Map<UUID, Integer> requested;
+            try {
+                requested = ReservationStrategy.quantitiesByProduct(request.getItems());
+                productIds.addAll(requested.keySet());
+            } catch (IllegalArgumentException e) {
+                requested = null;
+                invalid.put(request.getOrderId(), e.getMessage());
+            }
+            requestedPerOrder.add(requested);
+        }
+
+        Map<UUID, ProductStock> stocks = lockAll(productIds).stream()
+                .collect(Collectors.toMap(ProductStock::getProductId, Function.identity()));
+
+        List<ReservationResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            UUID orderId = requests.get(i).getOrderId();
+            Map<UUID, Integer> requested = requestedPerOrder.get(i);
+            results.add(requested == null
+                    ? ReservationResult.failed(orderId, invalid.get(orderId))
+                    : apply(orderId, requested, stocks));
+        }
+        productStockRepository.saveAll(stocks.values());
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public void release(Map<UUID, Integer> quantities) {
+        int released = productStockRepository.releaseAll(quantities, LocalDateTime.now());
+        if (released < quantities.size()) {
+            log.warn("Released {} of {} products: the rest were not found or had less reserved stock", released, quantities.size());
+        }
+    }
+
+    private List<ProductStock> lockAll(Collection<UUID> productIds) {
+        return inventoryMetrics.timeLockWait(() -> productStockRepository.findAllForUpdate(productIds));
+    }
+
+    /**
+     * Revisa todos los items contra los saldos en memoria y, solo si alcanzan, los descuenta.
+     * También la usa el group commit.
+     */
+    static ReservationResult apply(UUID orderId, Map<UUID, Integer> requested, Map<UUID, ProductStock> stocks) {
+        for (Map.Entry<UUID, Integer> entry : requested.entrySet()) {
+            ProductStock stock = stocks.get(entry.getKey());
+            if (stock == null || stock.getAvailableStock() < entry.getValue()) {
+                log.debug("Insufficient stock for product {}: available={}, requested={}",
+                        entry.getKey(), stock == null ? null : stock.getAvailableStock(), entry.getValue());
+                return ReservationResult.insufficientStock(orderId, entry.getKey());
+            }
+        }
+
+        for (Map.Entry<UUID, Integer> entry : requested.entrySet()) {
+            ProductStock stock = stocks.get(entry.getKey());
+            stock.setAvailableStock(stock.getAvailableStock() - entry.getValue());
+            stock.setReservedStock(stock.getReservedStock() + entry.getValue());
+        }
+        return ReservationResult.reserved(orderId);
+    }
+}
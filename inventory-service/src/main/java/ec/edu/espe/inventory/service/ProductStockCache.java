@@ -0,0 +1,44 @@
+package ec.edu.espe.inventory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ec.edu.espe.inventory.dto.ProductStockResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Caché acotada de {@link ProductStockResponse} para las consultas de stock. Las
+ * mutaciones de stock la invalidan directamente; el TTL corto acota la ventana en la que
+ * una lectura concurrente con una reserva puede dejar un valor viejo. Los contadores
+ * (cache.gets, cache.evictions, cache.size) se publican en /actuator/metrics.
+ */
+public class ProductStockCache {
+
+    private final Cache<UUID, ProductStockResponse> cache;
+
+    public ProductStockCache(long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "productStock");
+    }
+
+    /**
+     * Devuelve la entrada en caché o la carga con {@code loader}. Si el loader lanza una
+     * excepción (producto inexistente) no se guarda nada.
+     */
+    public ProductStockResponse get(UUID productId, Function<UUID, ProductStockResponse> loader) {
+        return cache.get(productId, loader);
+    }
+
+    public void invalidate(Collection<UUID> productIds) {
+        cache.invalidateAll(productIds);
+    }
+}
@@ -0,0 +1,106 @@
+package ec.edu.espe.inventory.service;
+
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.dto.ProductStockResponse;
+import ec.edu.espe.inventory.dto.ReservationRequest;
+import ec.edu.espe.inventory.dto.ReservationResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Estrategia de reserva de stock. Se selecciona con la propiedad
+ * {@code inventory.reservation.strategy}.
+ */
+public interface ReservationStrategy {
+
+    /**
+     * Reserva todos los items del pedido o ninguno.
+     */
+    ReservationResult reserve(UUID orderId, List<OrderItem> items);
+
+    /**
+     * Reserva un lote de pedidos. El resultado de cada pedido es independiente: un pedido
+     * rechazado o con error no afecta a los demás. Por defecto procesa uno por uno.
+     */
+    default List<ReservationResult> reserveAll(List<ReservationRequest> requests) {
+        List<ReservationResult> results = new ArrayList<>(requests.size());
+        for (ReservationRequest request : requests) {
+            try {
+                results.add(reserve(request.getOrderId(), request.getItems()));
+            } catch (RuntimeException e) {
+                results.add(ReservationResult.failed(request.getOrderId(), e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Si reserva dentro de la transacción del llamador (y se revierte con ella). Las que
+     * confirman por su cuenta devuelven false.
+     */
+    default boolean participatesInTransaction() {
+        return true;
+    }
+
+    /**
+     * Devuelve al disponible unidades reservadas, ya agregadas por producto, dentro de la
+     * transacción del llamador.
+     */
+    void release(Map<UUID, Integer> quantities);
+
+    /**
+     * Si {@link #release} se revierte con la transacción del llamador. Las que liberan por su
+     * cuenta devuelven false y el llamador libera después del commit.
+     */
+    default boolean releasesInTransaction() {
+        return true;
+    }
+
+    /**
+     * Stock actual si la estrategia lo mantiene fuera de la base de datos.
+     */
+    default Optional<ProductStockResponse> currentStock(UUID productId) {
+        return Optional.empty();
+    }
+
+    /**
+     * Como {@link #currentStock(UUID)} para varios productos, sin cargar los que la
+     * estrategia aún no tiene (para esos vale la base de datos).
+     */
+    default Map<UUID, ProductStockResponse> currentStocks(Collection<UUID> productIds) {
+        return Map.of();
+    }
+
+    /**
+     * Agrupa las líneas por producto (sumando cantidades) en orden de productId. Todas las
+     * estrategias pasan por aquí: un pedido sin líneas, o una línea sin producto o con cantidad
+     * nula o no positiva, lanza IllegalArgumentException y el pedido se rechaza (una cantidad
+     * negativa pasaría el {@code available_stock >= :quantity} y aumentaría el disponible).
+     */
+    static Map<UUID, Integer> quantitiesByProduct(List<OrderItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Order has no items");
+        }
+        Map<UUID, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : items) {
+            if (item == null || item.getProductId() == null) {
+                throw new IllegalArgumentException("Order item without productId");
+            }
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Invalid quantity for product " + item.getProductId());
+            }
+            try {
+                quantities.merge(item.getProductId(), item.getQuantity(), Math::addExact);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Invalid quantity for product " + item.getProductId());
+            }
+        }
+        return quantities;
+    }
+}
@@ -0,0 +1,32 @@
+package ec.edu.espe.inventory.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RotatingBloomFilterTest {
+
+    @Test
+    void remembersAValueForOneRotationAndForgetsItAfterTwo() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(1_000, 0.01);
+        UUID id = UUID.randomUUID();
+        filter.put(id);
+
+        filter.rotate();
+        assertThat(filter.mightContain(id)).isTrue();
+
+        filter.rotate();
+        assertThat(filter.mightContain(id)).isFalse();
+    }
+
+    @Test
+    void rotatesOnlyOnceTheCurrentGenerationIsOldEnough() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(1_000, 0.01);
+
+        assertThat(filter.rotateIfOlderThan(Duration.ofDays(1))).isFalse();
+        assertThat(filter.rotateIfOlderThan(Duration.ZERO)).isTrue();
+    }
+}
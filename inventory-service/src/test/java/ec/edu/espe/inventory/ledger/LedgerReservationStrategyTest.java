@@ -0,0 +1,58 @@
+package ec.edu.espe.inventory.ledger;
+
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.dto.ReservationRequest;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LedgerReservationStrategyTest {
+
+    private static final UUID PRODUCT = UUID.fromString("a3c2b1d0-6b0e-4f2b-9c1a-2d3f4a5b6c7d");
+
+    @TempDir
+    Path dir;
+
+    private StockLedger ledger;
+    private StockJournal journal;
+    private LedgerReservationStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new StockLedger(4, productId -> Optional.of(new StockBalance(productId, 10, 0, 1, 0L)));
+        journal = new StockJournal(dir, 16);
+        strategy = new LedgerReservationStrategy(ledger, journal);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void negativeQuantityIsRejectedAndLeavesTheBalanceAlone() {
+        List<ReservationResult> results = strategy.reserveAll(List.of(
+                new ReservationRequest(UUID.randomUUID(), List.of(new OrderItem(PRODUCT, -5)))));
+
+        assertThat(results.get(0).isReserved()).isFalse();
+        assertThat(ledger.get(PRODUCT).orElseThrow().availableStock()).isEqualTo(10);
+        assertThat(ledger.get(PRODUCT).orElseThrow().reservedStock()).isZero();
+        assertThat(journal.replay()).isEmpty();
+    }
+
+    @Test
+    void ledgerRefusesNonPositiveQuantities() {
+        assertThatThrownBy(() -> ledger.tryReserve(PRODUCT, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ledger.release(PRODUCT, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
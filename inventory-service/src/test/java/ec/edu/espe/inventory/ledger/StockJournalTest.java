@@ -0,0 +1,85 @@
+package ec.edu.espe.inventory.ledger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockJournalTest {
+
+    private static final UUID PRODUCT = UUID.fromString("a3c2b1d0-6b0e-4f2b-9c1a-2d3f4a5b6c7d");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayKeepsHighestVersionPerProduct() {
+        try (StockJournal journal = new StockJournal(dir, 16)) {
+            journal.append(List.of(new StockBalance(PRODUCT, 8, 2, 2, 1L))).join();
+            journal.append(List.of(new StockBalance(PRODUCT, 9, 1, 1, 1L))).join();
+        }
+
+        try (StockJournal reopened = new StockJournal(dir, 16)) {
+            Map<UUID, StockBalance> replayed = reopened.replay();
+            assertThat(replayed.get(PRODUCT).availableStock()).isEqualTo(8);
+            assertThat(replayed.get(PRODUCT).version()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void deletedSegmentsAreNotReplayed() {
+        try (StockJournal journal = new StockJournal(dir, 16)) {
+            journal.append(List.of(new StockBalance(PRODUCT, 8, 2, 1, 1L))).join();
+            journal.deleteUpTo(journal.roll().segmentId());
+
+            assertThat(journal.replay()).isEmpty();
+        }
+    }
+
+    @Test
+    void rollHandsOutOnlySyncedBalancesOnce() {
+        try (StockJournal journal = new StockJournal(dir, 16)) {
+            journal.append(List.of(new StockBalance(PRODUCT, 9, 1, 1, 1L))).join();
+            journal.append(List.of(new StockBalance(PRODUCT, 8, 2, 2, 1L))).join();
+
+            StockJournal.Checkpoint first = journal.roll();
+            assertThat(first.balances()).extracting(StockBalance::version).containsExactly(2L);
+            assertThat(journal.roll().balances()).isEmpty();
+
+            // Un volcado fallido vuelve al siguiente punto, sin pisar un saldo más nuevo
+            journal.append(List.of(new StockBalance(PRODUCT, 7, 3, 3, 1L))).join();
+            journal.restore(first.balances());
+            assertThat(journal.roll().balances()).extracting(StockBalance::version).containsExactly(3L);
+        }
+    }
+
+    @Test
+    void tornRecordAtTheEndIsIgnored() throws IOException {
+        try (StockJournal journal = new StockJournal(dir, 16)) {
+            journal.append(List.of(new StockBalance(PRODUCT, 8, 2, 1, 1L))).join();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            Path segment = files.filter(p -> {
+                try {
+                    return Files.size(p) > 0;
+                } catch (IOException e) {
+                    return false;
+                }
+            }).findFirst().orElseThrow();
+            Files.write(segment, new byte[StockJournal.RECORD_SIZE], StandardOpenOption.APPEND);
+        }
+
+        try (StockJournal reopened = new StockJournal(dir, 16)) {
+            assertThat(reopened.replay().get(PRODUCT).availableStock()).isEqualTo(8);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ec.edu.espe.inventory.messaging;
+
+import ec.edu.espe.events.StockRejectedEvent;
+import ec.edu.espe.events.StockReservedEvent;
+import ec.edu.espe.inventory.config.RabbitMQConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.mockito.ArgumentCaptor;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ConfirmingEventSinkTest {
+
+    private final MessageConverter converter = new RabbitMQConfig().jsonMessageConverter();
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConfirmingEventSink sink =
+            new ConfirmingEventSink(rabbitTemplate, converter, 2, Duration.ofMillis(50), registry);
+
+    @Test
+    void codecWritesSameJsonAsMessageConverter() {
+        StockRejectedEvent event = new StockRejectedEvent(UUID.randomUUID(), "Sin stock: \"café\" \n\t😀 \\ \u0001");
+        event.setTimestamp(LocalDateTime.of(2026, 1, 21, 15, 10, 0, 120_000_000));
+
+        EventCodec.Encoded encoded = EventCodec.encode(event);
+        Message expected = converter.toMessage(event, new MessageProperties());
+
+        JsonMapper mapper = JsonMapper.builder().build();
+        assertThat(mapper.readTree(encoded.body())).isEqualTo(mapper.readTree(expected.getBody()));
+        assertThat(encoded.typeId()).isEqualTo(RabbitMQConfig.STOCK_REJECTED_TYPE);
+    }
+
+    @Test
+    void publishedMessageReadsBackAsTheEvent() {
+        StockReservedEvent event = new StockReservedEvent(UUID.randomUUID());
+
+        sink.send(RabbitMQConfig.ORDERS_EXCHANGE, RabbitMQConfig.STOCK_RESERVED_ROUTING_KEY, event);
+
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(RabbitMQConfig.ORDERS_EXCHANGE), eq(RabbitMQConfig.STOCK_RESERVED_ROUTING_KEY),
+                message.capture(), any(CorrelationData.class));
+        assertThat(converter.fromMessage(message.getValue())).isEqualTo(event);
+    }
+
+    @Test
+    void fullWindowFailsUntilBrokerConfirms() {
+        ArgumentCaptor<CorrelationData> correlation = ArgumentCaptor.forClass(CorrelationData.class);
+        sink.send("ex", "rk", new StockReservedEvent(UUID.randomUUID()));
+        sink.send("ex", "rk", new StockReservedEvent(UUID.randomUUID()));
+        verify(rabbitTemplate, times(2)).send(anyString(), anyString(), any(Message.class), correlation.capture());
+        assertThat(sink.inFlight()).isEqualTo(2);
+
+        assertThatThrownBy(() -> sink.send("ex", "rk", new StockReservedEvent(UUID.randomUUID())))
+                .isInstanceOf(AmqpException.class);
+
+        correlation.getAllValues().get(0).getFuture().complete(new CorrelationData.Confirm(true, null));
+        correlation.getAllValues().get(1).getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+
+        sink.send("ex", "rk", new StockReservedEvent(UUID.randomUUID()));
+        assertThat(sink.inFlight()).isEqualTo(1);
+        assertThat(registry.counter("inventory.publisher.nacks").count()).isEqualTo(1);
+        assertThat(registry.timer("inventory.publisher.confirm.lag").count()).isEqualTo(2);
+    }
+
+    @Test
+    void failedSendReleasesItsSlot() {
+        doThrow(new AmqpException("channel closed")).when(rabbitTemplate)
+                .send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        assertThatThrownBy(() -> sink.send("ex", "rk", new StockReservedEvent(UUID.randomUUID())))
+                .isInstanceOf(AmqpException.class);
+
+        assertThat(sink.inFlight()).isZero();
+    }
+}
@@ -0,0 +1,61 @@
+package ec.edu.espe.inventory.messaging;
+
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.service.InventoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderCreatedHandlerTest {
+
+    private final InventoryService inventoryService = mock(InventoryService.class);
+    private final OrderCreatedHandler handler = new OrderCreatedHandler(inventoryService);
+    private final OrderCreatedEvent event = new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID().toString(),
+            List.of(new OrderItem(UUID.randomUUID(), 1)));
+
+    @Test
+    void publishFailureAfterReservingIsRedeliveredInsteadOfRejected() {
+        when(inventoryService.reserveAndPublish(event))
+                .thenThrow(new ResultPublishException(new AmqpException("in-flight window full")));
+
+        assertThatThrownBy(() -> handler.handle(event)).isInstanceOf(ResultPublishException.class);
+
+        verify(inventoryService, never()).publishRejection(any(), anyString());
+    }
+
+    @Test
+    void reservationFailureIsRejected() {
+        when(inventoryService.reserveAndPublish(event)).thenThrow(new IllegalStateException("db down"));
+
+        handler.handle(event);
+
+        verify(inventoryService).publishRejection(eq(event), eq("Error processing order: db down"));
+    }
+
+    @Test
+    void orderWithoutItemsIsHandledEvenWhenTheReceiptIsLogged() {
+        OrderCreatedEvent noItems = new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID().toString(), null);
+        when(inventoryService.reserveAndPublish(noItems))
+                .thenReturn(ReservationResult.failed(noItems.getOrderId(), "Order has no items"));
+
+        // El log de recepción es muestreado (1 de cada 100): se recorre más de un ciclo
+        for (int i = 0; i < 200; i++) {
+            handler.handle(noItems);
+        }
+
+        verify(inventoryService, never()).publishRejection(any(), anyString());
+    }
+}
@@ -0,0 +1,88 @@
+package ec.edu.espe.inventory.messaging;
+
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.config.ConsumerProperties;
+import ec.edu.espe.inventory.config.RabbitMQConfig;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderPartitionRouterTest {
+
+    private final ConsumerProperties properties = new ConsumerProperties();
+    private final OrderPartitionRouter router = new OrderPartitionRouter(null, properties);
+
+    @Test
+    void sameProductAlwaysRoutesToSamePartition() {
+        UUID product = UUID.randomUUID();
+        int partition = OrderPartitionRouter.partitionOf(product, properties.getPartitions());
+
+        String routingKey = router.routingKeyFor(order(product, product));
+
+        assertThat(routingKey).isEqualTo(RabbitMQConfig.partitionRoutingKey(partition));
+    }
+
+    @Test
+    void productsInDifferentPartitionsRouteToSpanningQueue() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        while (OrderPartitionRouter.partitionOf(second, properties.getPartitions())
+                == OrderPartitionRouter.partitionOf(first, properties.getPartitions())) {
+            second = UUID.randomUUID();
+        }
+
+        assertThat(router.routingKeyFor(order(first, second)))
+                .isEqualTo(RabbitMQConfig.SPANNING_PARTITION_ROUTING_KEY);
+    }
+
+    @Test
+    void orderWithoutItemsIsRejectedWithoutRequeue() {
+        OrderCreatedEvent empty = order();
+        OrderCreatedEvent noItems = new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID().toString(), null);
+        OrderCreatedEvent noProduct = new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID().toString(),
+                List.of(new OrderItem(null, 1)));
+
+        assertThatThrownBy(() -> router.routingKeyFor(empty)).isInstanceOf(AmqpRejectAndDontRequeueException.class);
+        assertThatThrownBy(() -> router.routingKeyFor(noItems)).isInstanceOf(AmqpRejectAndDontRequeueException.class);
+        assertThatThrownBy(() -> router.routingKeyFor(noProduct)).isInstanceOf(AmqpRejectAndDontRequeueException.class);
+    }
+
+    @Test
+    void forwardWaitsForTheBrokerConfirm() {
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        RabbitOperations operations = mock(RabbitOperations.class);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+        UUID product = UUID.randomUUID();
+        Message message = new Message(new byte[0]);
+
+        new OrderPartitionRouter(rabbitTemplate, properties).route(order(product), message);
+
+        InOrder inOrder = inOrder(operations);
+        inOrder.verify(operations).send(eq(RabbitMQConfig.INVENTORY_PARTITIONS_EXCHANGE),
+                eq(RabbitMQConfig.partitionRoutingKey(OrderPartitionRouter.partitionOf(product, properties.getPartitions()))),
+                eq(message));
+        inOrder.verify(operations).waitForConfirmsOrDie(properties.getForwardConfirmTimeout().toMillis());
+    }
+
+    private static OrderCreatedEvent order(UUID... products) {
+        List<OrderItem> items = Arrays.stream(products).map(p -> new OrderItem(p, 1)).toList();
+        return new OrderCreatedEvent(UUID.randomUUID(), UUID.randomUUID().toString(), items);
+    }
+}
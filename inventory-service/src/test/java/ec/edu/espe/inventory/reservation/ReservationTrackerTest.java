@@ -0,0 +1,84 @@
+package ec.edu.espe.inventory.reservation;
+
+import ec.edu.espe.inventory.config.ReservationProperties;
+import ec.edu.espe.inventory.model.StockReservation;
+import ec.edu.espe.inventory.repository.StockReservationRepository;
+import ec.edu.espe.inventory.service.ProductStockCache;
+import ec.edu.espe.inventory.service.ReservationStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservationTrackerTest {
+
+    private final StockReservationRepository repository = mock(StockReservationRepository.class);
+    private final ReservationStrategy ledger = mock(ReservationStrategy.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @Test
+    void strategyOutsideTheTransactionReleasesOnlyAfterTheDeleteCommits() throws InterruptedException {
+        UUID orderId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+        when(ledger.releasesInTransaction()).thenReturn(false);
+        when(repository.expireNow(eq(orderId), any())).thenReturn(1);
+        when(repository.findDueForUpdate(anyCollection(), any()))
+                .thenReturn(List.of(new StockReservation(orderId, productId, 3, LocalDateTime.now(), LocalDateTime.now())));
+        ReservationTracker tracker = tracker();
+
+        tracker.cancel(orderId);
+        Thread.sleep(50);
+        // El commit del borrado falla: el ledger no debe haber liberado nada
+        doThrow(new TransactionSystemException("commit failed")).when(transactionManager).commit(any());
+        assertThat(tracker.releaseDue()).isZero();
+        verify(ledger, never()).release(any());
+
+        // El reintento del siguiente tick libera una sola vez
+        doNothing().when(transactionManager).commit(any());
+        Thread.sleep(50);
+        assertThat(tracker.releaseDue()).isEqualTo(1);
+        verify(ledger, times(1)).release(Map.of(productId, 3));
+    }
+
+    @Test
+    void purgeClosesOldUnscheduledReservationsWithoutReleasingTheirUnits() {
+        when(repository.deleteUnscheduledBefore(any())).thenReturn(2);
+        LocalDateTime before = LocalDateTime.now();
+
+        assertThat(tracker().purgeUnscheduled()).isEqualTo(2);
+        LocalDateTime after = LocalDateTime.now();
+
+        verify(repository).deleteUnscheduledBefore(argThat(cutoff ->
+                !cutoff.isBefore(before.minusDays(7)) && !cutoff.isAfter(after.minusDays(7))));
+        verify(ledger, never()).release(any());
+    }
+
+    private ReservationTracker tracker() {
+        ReservationProperties properties = new ReservationProperties();
+        properties.setTick(Duration.ofMillis(10));
+        return new ReservationTracker(repository, ledger, mock(ProductStockCache.class), mock(JdbcTemplate.class),
+                new TransactionTemplate(transactionManager), properties, Thread.ofPlatform().factory(),
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,83 @@
+package ec.edu.espe.inventory.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void expiresEachKeyAtItsDeadlineAcrossAllLevels() {
+        long start = 1_700_000_123_000L;
+        TimerWheel<Integer> wheel = new TimerWheel<>(TICK, start);
+        Random random = new Random(42);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        for (int key = 0; key < 5_000; key++) {
+            // Hasta ~8 días: ejercita los niveles 0 a 3 y sus cascadas
+            long deadline = start + TICK * (1 + random.nextInt(700_000));
+            wheel.schedule(key, deadline);
+            deadlines.put(key, deadline);
+        }
+
+        long now = start;
+        while (!deadlines.isEmpty()) {
+            now += TICK * (1 + random.nextInt(600));
+            for (Integer key : wheel.advance(now)) {
+                assertThat(deadlines.remove(key)).isLessThanOrEqualTo(now);
+            }
+            long current = now;
+            assertThat(deadlines.values()).allMatch(deadline -> deadline > current);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledKeysNeverExpire() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 0);
+        wheel.schedule("kept", 5 * TICK);
+        wheel.schedule("cancelled", 5 * TICK);
+
+        assertThat(wheel.cancel("cancelled")).isTrue();
+
+        assertThat(wheel.advance(10 * TICK)).containsExactly("kept");
+    }
+
+    @Test
+    void reschedulingMovesTheDeadline() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 0);
+        wheel.schedule("order", 3_600 * TICK);
+
+        wheel.schedule("order", 2 * TICK);
+
+        assertThat(wheel.advance(2 * TICK)).containsExactly("order");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesExpireOnNextTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 100 * TICK);
+        wheel.schedule("late", 10 * TICK);
+
+        assertThat(wheel.advance(100 * TICK)).isEmpty();
+        assertThat(wheel.advance(101 * TICK)).containsExactly("late");
+    }
+
+    @Test
+    void deadlinesBeyondTheWheelWaitInOverflow() {
+        TimerWheel<String> wheel = new TimerWheel<>(TICK, 0);
+        long farAway = (1L << 24) * TICK + 5 * TICK;
+        wheel.schedule("far", farAway);
+
+        List<String> expired = new ArrayList<>(wheel.advance(farAway - TICK));
+        assertThat(expired).isEmpty();
+        assertThat(wheel.advance(farAway)).containsExactly("far");
+    }
+}
@@ -0,0 +1,46 @@
+package ec.edu.espe.inventory.service;
+
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.dto.ReservationRequest;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.repository.ProductStockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ConditionalUpdateReservationStrategyTest {
+
+    private final ProductStockRepository repository = mock(ProductStockRepository.class);
+    private final ConditionalUpdateReservationStrategy strategy =
+            new ConditionalUpdateReservationStrategy(repository, new InventoryMetrics(new SimpleMeterRegistry()));
+
+    @Test
+    void rejectsNegativeAndMissingQuantitiesWithoutTouchingStock() {
+        UUID productId = UUID.randomUUID();
+        List<ReservationRequest> requests = List.of(
+                new ReservationRequest(UUID.randomUUID(), List.of(new OrderItem(productId, -5))),
+                new ReservationRequest(UUID.randomUUID(), List.of(new OrderItem(productId, null))),
+                new ReservationRequest(UUID.randomUUID(), List.of(new OrderItem(productId, 0))));
+
+        List<ReservationResult> results = strategy.reserveAll(requests);
+
+        assertThat(results).noneMatch(ReservationResult::isReserved);
+        assertThat(results).allMatch(result -> result.getReason().contains("Invalid quantity for product " + productId));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void rejectsOrderWithoutItems() {
+        List<ReservationResult> results = strategy.reserveAll(List.of(new ReservationRequest(UUID.randomUUID(), List.of())));
+
+        assertThat(results.get(0).isReserved()).isFalse();
+        assertThat(results.get(0).getReason()).isEqualTo("Error processing order: Order has no items");
+        verifyNoInteractions(repository);
+    }
+}
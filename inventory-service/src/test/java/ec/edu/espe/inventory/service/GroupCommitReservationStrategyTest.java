@@ -0,0 +1,85 @@
+package ec.edu.espe.inventory.service;
+
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.inventory.dto.ReservationRequest;
+import ec.edu.espe.inventory.dto.ReservationResult;
+import ec.edu.espe.inventory.model.ProductStock;
+import ec.edu.espe.inventory.repository.ProductStockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupCommitReservationStrategyTest {
+
+    private final ProductStockRepository repository = mock(ProductStockRepository.class);
+    private final UUID productId = UUID.randomUUID();
+    private final ProductStock stock = new ProductStock(productId, 100, 0, LocalDateTime.now());
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+    private final CountDownLatch unblockWriter = new CountDownLatch(1);
+    private GroupCommitReservationStrategy strategy;
+
+    @AfterEach
+    void tearDown() {
+        unblockWriter.countDown();
+        strategy.close();
+    }
+
+    @Test
+    void queueFullMidBatchReleasesTheReservationsThatCommitted() throws Exception {
+        AtomicInteger lookups = new AtomicInteger();
+        when(repository.findAllForUpdate(anyCollection())).thenAnswer(invocation -> {
+            if (lookups.getAndIncrement() == 0) {
+                // El primer lote retiene al escritor mientras se llena la cola
+                writerBlocked.countDown();
+                unblockWriter.await();
+            }
+            return List.of(stock);
+        });
+        strategy = new GroupCommitReservationStrategy(repository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), Duration.ofMillis(1), 10, 2,
+                new InventoryMetrics(new SimpleMeterRegistry()), new SimpleMeterRegistry());
+
+        CompletableFuture<ReservationResult> blocker = CompletableFuture.supplyAsync(() ->
+                strategy.reserve(UUID.randomUUID(), List.of(new OrderItem(productId, 1))));
+        assertThat(writerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Caben dos en la cola; la tercera falla con la cola llena
+        List<ReservationRequest> batch = List.of(request(2), request(2), request(2));
+        CompletableFuture<List<ReservationResult>> reserveAll = CompletableFuture.supplyAsync(() -> strategy.reserveAll(batch));
+        Thread.sleep(100);
+        assertThat(reserveAll).isNotDone();
+        unblockWriter.countDown();
+
+        assertThat(blocker.get(5, TimeUnit.SECONDS).isReserved()).isTrue();
+        assertThatThrownBy(() -> reserveAll.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause().isInstanceOf(IllegalStateException.class).hasMessage("Group commit queue is full");
+        verify(repository).releaseAll(eq(Map.of(productId, 4)), any(LocalDateTime.class));
+    }
+
+    private ReservationRequest request(int quantity) {
+        return new ReservationRequest(UUID.randomUUID(), List.of(new OrderItem(productId, quantity)));
+    }
+}
@@ -0,0 +1,51 @@
+package ec.edu.espe.order_service.benchmark;
+
+import ec.edu.espe.order_service.OrderServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Starts the service without external infrastructure: in-memory H2 (PostgreSQL mode), RabbitMQ
+ * listeners and the outbox relay stopped. -Dbench.datasource.url=jdbc:postgresql://... runs
+ * against a real database instead.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(Map<String, Object> overrides) {
+        Map<String, Object> props = new HashMap<>();
+        String url = System.getProperty("bench.datasource.url");
+        if (url == null) {
+            props.put("spring.datasource.url",
+                    "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=30000");
+            props.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            props.put("spring.datasource.username", "sa");
+            props.put("spring.datasource.password", "");
+            props.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        } else {
+            props.put("spring.datasource.url", url);
+        }
+        props.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        props.put("spring.jpa.show-sql", false);
+        props.put("spring.rabbitmq.listener.simple.auto-startup", false);
+        props.put("spring.rabbitmq.listener.direct.auto-startup", false);
+        props.put("order.outbox.auto-startup", false);
+        props.put("spring.main.banner-mode", "off");
+        props.put("logging.level.root", "WARN");
+        props.put("logging.level.ec.edu.espe.order_service", "WARN");
+        props.put("logging.level.org.springframework.amqp", "WARN");
+        props.putAll(overrides);
+
+        // Passed as command-line args so they win over application.yaml
+        String[] args = props.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(OrderServiceApplication.class).run(args);
+    }
+}
@@ -0,0 +1,78 @@
+package ec.edu.espe.order_service.benchmark;
+
+import ec.edu.espe.order_service.dto.OrderItemDto;
+import ec.edu.espe.order_service.dto.OrderRequest;
+import ec.edu.espe.order_service.service.BulkOrderService;
+import ec.edu.espe.order_service.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders/s for a burst of 1000 three-item orders: one createOrder transaction per order against
+ * BulkOrderService reading the same orders as NDJSON (chunks of 500). The bulk side also pays
+ * for parsing the request and writing the result lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BulkIntakeBenchmark {
+
+    private static final int ORDERS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private BulkOrderService bulkOrderService;
+    private OrderRequest request;
+    private byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of("order.bulk.chunk-size", 500));
+        orderService = context.getBean(OrderService.class);
+        bulkOrderService = context.getBean(BulkOrderService.class);
+
+        request = new OrderRequest();
+        request.setCustomerId(UUID.randomUUID().toString());
+        request.setPaymentReference("pay_bench");
+        request.setItems(List.of(
+                new OrderItemDto(UUID.randomUUID(), 1),
+                new OrderItemDto(UUID.randomUUID(), 2),
+                new OrderItemDto(UUID.randomUUID(), 3)));
+
+        byte[] line = context.getBean(JsonMapper.class).writeValueAsBytes(request);
+        ndjson = new byte[(line.length + 1) * ORDERS];
+        for (int i = 0; i < ORDERS; i++) {
+            System.arraycopy(line, 0, ndjson, i * (line.length + 1), line.length);
+            ndjson[i * (line.length + 1) + line.length] = '\n';
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void createOrderEach(Blackhole blackhole) {
+        for (int i = 0; i < ORDERS; i++) {
+            blackhole.consume(orderService.createOrder(request));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public void bulkNdjson() throws IOException {
+        bulkOrderService.createOrders(new ByteArrayInputStream(ndjson), OutputStream.nullOutputStream());
+    }
+}
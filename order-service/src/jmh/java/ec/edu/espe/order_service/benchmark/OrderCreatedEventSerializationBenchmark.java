@@ -0,0 +1,51 @@
+package ec.edu.espe.order_service.benchmark;
+
+import ec.edu.espe.events.EventFormat;
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.OrderItem;
+import ec.edu.espe.events.amqp.EventMessageConverter;
+import ec.edu.espe.order_service.config.RabbitMQConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the RabbitMQConfig converter on the OrderCreated path (what OutboxWriter pays per order),
+ * per order.outbox.format. The inventory-service build benchmarks the consuming side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderCreatedEventSerializationBenchmark {
+
+    @Param({"json", "binary"})
+    private String format;
+
+    private EventMessageConverter converter;
+    private OrderCreatedEvent event;
+
+    @Setup
+    public void setUp() {
+        converter = new EventMessageConverter(new RabbitMQConfig().converter(), EventFormat.valueOf(format.toUpperCase()));
+        event = OrderCreatedEvent.builder()
+                .orderId(UUID.randomUUID())
+                .customerId(UUID.randomUUID().toString())
+                .correlationId(UUID.randomUUID().toString())
+                .createdAt(LocalDateTime.now())
+                .items(List.of(
+                        new OrderItem(UUID.randomUUID(), 2),
+                        new OrderItem(UUID.randomUUID(), 1),
+                        new OrderItem(UUID.randomUUID(), 5)))
+                .build();
+    }
+
+    @Benchmark
+    public Message writeOrderCreated() {
+        return converter.toMessage(event, new MessageProperties());
+    }
+}
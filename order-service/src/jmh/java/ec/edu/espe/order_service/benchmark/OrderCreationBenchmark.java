@@ -0,0 +1,69 @@
+package ec.edu.espe.order_service.benchmark;
+
+import ec.edu.espe.order_service.dto.OrderItemDto;
+import ec.edu.espe.order_service.dto.OrderRequest;
+import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * createOrder throughput (orders/s) for orders with 1, 10 and 50 items. JDBC statements and
+ * entity inserts per order are printed at the end of each trial: with batched item inserts the
+ * statement count stays flat as the item count grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderCreationBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private Statistics statistics;
+    private OrderRequest request;
+    private long invocations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of("spring.jpa.properties.hibernate.generate_statistics", true));
+        orderService = context.getBean(OrderService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        List<OrderItemDto> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemDto(UUID.randomUUID(), i + 1));
+        }
+        request = new OrderRequest();
+        request.setCustomerId(UUID.randomUUID().toString());
+        request.setPaymentReference("pay_bench");
+        request.setItems(items);
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[items=%d] %.2f JDBC statements/op, %.2f entity inserts/op, %.2f entity updates/op%n", itemCount,
+                statistics.getPrepareStatementCount() / (double) invocations,
+                statistics.getEntityInsertCount() / (double) invocations,
+                statistics.getEntityUpdateCount() / (double) invocations);
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        invocations++;
+        return orderService.createOrder(request);
+    }
+}
@@ -0,0 +1,115 @@
+package ec.edu.espe.order_service.benchmark;
+
+import ec.edu.espe.order_service.dto.OrderHistoryPage;
+import ec.edu.espe.order_service.dto.OrderSummaryRow;
+import ec.edu.espe.order_service.model.OrderStatus;
+import ec.edu.espe.order_service.service.OrderHistoryService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One 50-order history page of a customer with 100k orders (among 200k), at the first page and
+ * near the end: keyset (OrderHistoryService with the cursor of the previous page) against the
+ * same projection with OFFSET. Keyset cost does not depend on the depth; OFFSET reads and
+ * discards every earlier row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderHistoryBenchmark {
+
+    private static final int CUSTOMER_ORDERS = 100_000;
+    private static final int PAGE = 50;
+    private static final String CUSTOMER = "customer-bench";
+
+    // Multiple of OrderHistoryService.MAX_LIMIT
+    @Param({"0", "90000"})
+    public int depth;
+
+    private ConfigurableApplicationContext context;
+    private OrderHistoryService orderHistoryService;
+    private EntityManagerFactory entityManagerFactory;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // H2 would otherwise answer a repeated identical query from its result cache
+        context = BenchmarkContext.start(System.getProperty("bench.datasource.url") != null ? Map.of() : Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:history-" + UUID.randomUUID()
+                        + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;OPTIMIZE_REUSE_RESULTS=FALSE"));
+        orderHistoryService = context.getBean(OrderHistoryService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        OrderStatus[] statuses = OrderStatus.values();
+        for (int customer = 0; customer < 2; customer++) {
+            String customerId = customer == 0 ? CUSTOMER : "customer-other";
+            for (int from = 0; from < CUSTOMER_ORDERS; from += 5000) {
+                List<Object[]> batch = new ArrayList<>(5000);
+                for (int i = from; i < from + 5000; i++) {
+                    Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(i * 60L));
+                    batch.add(new Object[]{UUID.randomUUID().toString(), customerId, statuses[i % statuses.length].name(),
+                            "Order received.", createdAt, createdAt});
+                }
+                jdbcTemplate.batchUpdate("INSERT INTO orders (order_id, customer_id, status, message, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", batch);
+            }
+        }
+
+        // Page from the start up to depth, as a client would, checking that no order repeats or goes missing
+        Set<String> seen = new HashSet<>();
+        while (seen.size() < depth) {
+            OrderHistoryPage page = orderHistoryService.getHistory(CUSTOMER, null, null, null, cursor,
+                    OrderHistoryService.MAX_LIMIT, false);
+            page.getOrders().forEach(order -> seen.add(order.getOrderId()));
+            cursor = page.getNextCursor();
+        }
+        if (seen.size() != depth) {
+            throw new IllegalStateException("Keyset paging returned " + seen.size() + " distinct orders, expected " + depth);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderHistoryPage keyset() {
+        return orderHistoryService.getHistory(CUSTOMER, null, null, null, cursor, PAGE, false);
+    }
+
+    @Benchmark
+    public List<OrderSummaryRow> offset() {
+        return offsetPage(depth, PAGE);
+    }
+
+    private List<OrderSummaryRow> offsetPage(int offset, int limit) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("SELECT new ec.edu.espe.order_service.dto.OrderSummaryRow("
+                            + "o.orderId, o.status, o.createdAt, o.updatedAt) FROM Order o WHERE o.customerId = :customerId "
+                            + "ORDER BY o.createdAt DESC, o.orderId DESC", OrderSummaryRow.class)
+                    .setParameter("customerId", CUSTOMER)
+                    .setFirstResult(offset)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
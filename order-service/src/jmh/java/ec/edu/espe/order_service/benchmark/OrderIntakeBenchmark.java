@@ -0,0 +1,75 @@
+package ec.edu.espe.order_service.benchmark;
+
+import ec.edu.espe.order_service.dto.OrderItemDto;
+import ec.edu.espe.order_service.dto.OrderRequest;
+import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.intake.AsyncOrderIntake;
+import ec.edu.espe.order_service.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of taking an order from 8 concurrent callers: createOrder (commit before answering)
+ * against AsyncOrderIntake.accept (journal with grouped fsync, buffer; a single writer stores the
+ * orders in micro-batches). Percentiles come from SampleTime; orders refused with a full buffer
+ * and orders still buffered are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class OrderIntakeBenchmark {
+
+    @Param({"sync", "async"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private AsyncOrderIntake intake;
+    private MeterRegistry meterRegistry;
+    private OrderRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path journal = Files.createTempDirectory("intake-journal");
+        context = BenchmarkContext.start(Map.of(
+                "order.intake.mode", mode,
+                "order.intake.capacity", 100000,
+                "order.intake.journal.directory", journal.toString()));
+        orderService = context.getBean(OrderService.class);
+        intake = context.getBeanProvider(AsyncOrderIntake.class).getIfAvailable();
+        meterRegistry = context.getBean(MeterRegistry.class);
+
+        request = new OrderRequest();
+        request.setCustomerId(UUID.randomUUID().toString());
+        request.setPaymentReference("pay_bench");
+        request.setItems(List.of(
+                new OrderItemDto(UUID.randomUUID(), 1),
+                new OrderItemDto(UUID.randomUUID(), 2),
+                new OrderItemDto(UUID.randomUUID(), 3)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (intake != null) {
+            System.out.printf("%n[async] refused (429): %.0f, still buffered: %.0f%n",
+                    meterRegistry.get("orders.intake.rejected").counter().count(),
+                    meterRegistry.get("orders.intake.buffered").gauge().value());
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return intake != null ? intake.accept(request) : orderService.createOrder(request);
+    }
+}
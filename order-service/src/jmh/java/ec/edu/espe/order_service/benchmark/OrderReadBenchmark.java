@@ -0,0 +1,78 @@
+package ec.edu.espe.order_service.benchmark;
+
+import ec.edu.espe.order_service.dto.OrderItemDto;
+import ec.edu.espe.order_service.dto.OrderRequest;
+import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.repository.OrderRepository;
+import ec.edu.espe.order_service.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /orders/{id} read path for orders with 1, 10 and 100 items. entityRead is the previous
+ * path (order entity plus items in one join, then mapToOrderResponse); projectionRead is
+ * OrderService.getOrder. Run with -prof gc for allocations per op; JDBC statements per op are
+ * printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderReadBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private Statistics statistics;
+    private String orderId;
+    private long invocations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of("spring.jpa.properties.hibernate.generate_statistics", true));
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        List<OrderItemDto> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemDto(UUID.randomUUID(), i + 1));
+        }
+        OrderRequest request = new OrderRequest();
+        request.setCustomerId(UUID.randomUUID().toString());
+        request.setItems(items);
+        orderId = orderService.createOrder(request).getOrderId();
+        statistics.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[items=%d] %.2f JDBC statements/op, %.2f entities loaded/op%n", itemCount,
+                statistics.getPrepareStatementCount() / (double) invocations,
+                statistics.getEntityLoadCount() / (double) invocations);
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse entityRead() {
+        invocations++;
+        return orderService.mapToOrderResponse(orderRepository.findWithItemsByOrderId(orderId).orElseThrow());
+    }
+
+    @Benchmark
+    public OrderResponse projectionRead() {
+        invocations++;
+        return orderService.getOrder(orderId);
+    }
+}
@@ -0,0 +1,68 @@
+package ec.edu.espe.order_service.benchmark;
+
+import ec.edu.espe.order_service.dto.OrderItemDto;
+import ec.edu.espe.order_service.dto.OrderRequest;
+import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.dto.ShippingAddressDto;
+import ec.edu.espe.order_service.model.Order;
+import ec.edu.espe.order_service.repository.OrderRepository;
+import ec.edu.espe.order_service.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * createOrder (order + items + outbox row in one transaction) and the entity to response mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRequest request;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of());
+        orderService = context.getBean(OrderService.class);
+
+        request = new OrderRequest();
+        request.setCustomerId(UUID.randomUUID().toString());
+        request.setPaymentReference("pay_bench");
+        ShippingAddressDto address = new ShippingAddressDto();
+        address.setCountry("EC");
+        address.setCity("Quito");
+        address.setStreet("Av. Amazonas");
+        address.setPostalCode("170135");
+        request.setShippingAddress(address);
+        request.setItems(List.of(
+                new OrderItemDto(UUID.randomUUID(), 2),
+                new OrderItemDto(UUID.randomUUID(), 1),
+                new OrderItemDto(UUID.randomUUID(), 5)));
+
+        String orderId = orderService.createOrder(request).getOrderId();
+        order = context.getBean(OrderRepository.class).findWithItemsByOrderId(orderId).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        return orderService.createOrder(request);
+    }
+
+    @Benchmark
+    public OrderResponse mapToOrderResponse() {
+        return orderService.mapToOrderResponse(order);
+    }
+}
@@ -0,0 +1,9 @@
+package ec.edu.espe.order_service.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BulkIntakeProperties.class)
+public class BulkIntakeConfig {
+}
@@ -0,0 +1,12 @@
+package ec.edu.espe.order_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "order.bulk")
+public class BulkIntakeProperties {
+
+    // Orders per transaction (and per flush of the result stream); memory use is bounded by it
+    private int chunkSize = 500;
+}
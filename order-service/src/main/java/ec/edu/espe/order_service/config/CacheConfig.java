@@ -0,0 +1,17 @@
+package ec.edu.espe.order_service.config;
+
+import ec.edu.espe.order_service.service.OrderResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OrderCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public OrderResponseCache orderResponseCache(OrderCacheProperties properties, MeterRegistry meterRegistry) {
+        return new OrderResponseCache(properties.getMaximumSize(), properties.getTtl(), meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package ec.edu.espe.order_service.config;
+
+import ec.edu.espe.order_service.intake.AsyncOrderIntake;
+import ec.edu.espe.order_service.intake.IntakeJournal;
+import ec.edu.espe.order_service.service.OrderResponseCache;
+import ec.edu.espe.order_service.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+@EnableConfigurationProperties(IntakeProperties.class)
+public class IntakeConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "order.intake.mode", havingValue = "async")
+    public AsyncOrderIntake asyncOrderIntake(OrderService orderService, OrderResponseCache orderResponseCache,
+                                             JsonMapper jsonMapper, IntakeProperties properties,
+                                             MeterRegistry meterRegistry, Environment environment) {
+        IntakeProperties.Journal journal = properties.getJournal();
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("order-intake").factory()
+                : Thread.ofPlatform().name("order-intake").daemon().factory();
+        return new AsyncOrderIntake(orderService, orderResponseCache,
+                new IntakeJournal(journal.getDirectory(), journal.isFsync(), journal.getSegmentBytes(), jsonMapper),
+                properties, threadFactory, meterRegistry);
+    }
+}
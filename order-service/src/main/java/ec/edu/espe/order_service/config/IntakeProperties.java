@@ -0,0 +1,47 @@
+package ec.edu.espe.order_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.intake")
+public class IntakeProperties {
+
+    // sync: POST /orders commits and answers 201 | async: journals, buffers and answers 202
+    private Mode mode = Mode.SYNC;
+
+    // Orders accepted but not stored yet; a full buffer answers 429
+    private int capacity = 10000;
+
+    // Orders per writer transaction
+    private int batchSize = 200;
+
+    // Retry-After sent with the 429
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    // Wait before retrying a micro-batch the database did not take at all
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    private Journal journal = new Journal();
+
+    public enum Mode {
+        SYNC, ASYNC
+    }
+
+    @Data
+    public static class Journal {
+
+        // Must survive restarts (a volume in containers): replayed on startup
+        private Path directory = Path.of("data", "intake-journal");
+
+        // fsync before answering 202 (grouped across concurrent requests). Off, an accepted
+        // order survives a process crash but not a machine crash
+        private boolean fsync = true;
+
+        // A segment is rolled at this size and deleted once all its orders are stored
+        private long segmentBytes = 64L * 1024 * 1024;
+    }
+}
@@ -0,0 +1,17 @@
+package ec.edu.espe.order_service.config;
+
+import ec.edu.espe.order_service.service.OrderStatusWaiters;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LongPollProperties.class)
+public class LongPollConfig {
+
+    @Bean
+    public OrderStatusWaiters orderStatusWaiters(MeterRegistry meterRegistry) {
+        return new OrderStatusWaiters(meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package ec.edu.espe.order_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.long-poll")
+public class LongPollProperties {
+
+    // Used when the request has no ?timeout
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+
+    // Upper bound for ?timeout; keep it below any proxy idle timeout
+    private Duration maxTimeout = Duration.ofSeconds(60);
+}
@@ -0,0 +1,17 @@
+package ec.edu.espe.order_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.cache")
+public class OrderCacheProperties {
+
+    // Max orders kept; older/colder entries are evicted first
+    private long maximumSize = 10_000;
+
+    // Safety net only: entries are kept current by the result events
+    private Duration ttl = Duration.ofMinutes(10);
+}
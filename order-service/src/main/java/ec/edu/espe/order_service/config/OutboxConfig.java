@@ -0,0 +1,30 @@
+package ec.edu.espe.order_service.config;
+
+import ec.edu.espe.events.outbox.OutboxRelay;
+import ec.edu.espe.order_service.repository.OutboxRepository;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    public OutboxRelay outboxRelay(OutboxRepository outboxRepository, RabbitTemplate rabbitTemplate,
+                                   PlatformTransactionManager transactionManager, OutboxProperties properties,
+                                   Environment environment) {
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("outbox-relay").factory()
+                : Thread.ofPlatform().name("outbox-relay").daemon().factory();
+        return new OutboxRelay(outboxRepository, rabbitTemplate, new TransactionTemplate(transactionManager),
+                properties, threadFactory);
+    }
+}
@@ -0,0 +1,30 @@
+package ec.edu.espe.order_service.config;
+
+import ec.edu.espe.events.EventFormat;
+import ec.edu.espe.events.outbox.OutboxSettings;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.outbox")
+public class OutboxProperties implements OutboxSettings {
+
+    // Start the relay with the context (disabled by the benchmarks)
+    private boolean autoStartup = true;
+
+    // Messages per batch (one confirm wait per batch)
+    private int batchSize = 100;
+
+    // Fallback in case an after-commit wake-up is missed
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    private Duration confirmTimeout = Duration.ofSeconds(5);
+
+    // How long sent messages are kept
+    private Duration retention = Duration.ofHours(1);
+
+    // Encoding of the stored OrderCreated events: json | binary (inventory-service reads both)
+    private EventFormat format = EventFormat.JSON;
+}
@@ -1,14 +1,31 @@
 package ec.edu.espe.order_service.config;
 
+import ec.edu.espe.events.EventSchema;
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.StockRejectedEvent;
+import ec.edu.espe.events.StockReservedEvent;
+import ec.edu.espe.events.amqp.EventMessageConverter;
+import ec.edu.espe.order_service.listener.QueueLatencyAdvice;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.ContainerCustomizer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.support.converter.DefaultJacksonJavaTypeMapper;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Map;
+
 @Configuration
+@EnableConfigurationProperties(ResultsConsumerProperties.class)
 public class RabbitMQConfig {
 
     // Exchange
@@ -23,6 +40,11 @@ public class RabbitMQConfig {
     public static final String STOCK_RESERVED_ROUTING_KEY = "stock.reserved";
     public static final String STOCK_REJECTED_ROUTING_KEY = "stock.rejected";
 
+    // Logical event types (__TypeId__), defined by the contract shared with inventory-service
+    public static final String ORDER_CREATED_TYPE = EventSchema.ORDER_CREATED;
+    public static final String STOCK_RESERVED_TYPE = EventSchema.STOCK_RESERVED;
+    public static final String STOCK_REJECTED_TYPE = EventSchema.STOCK_REJECTED;
+
     @Bean
     public TopicExchange exchange() {
         return new TopicExchange(EXCHANGE_NAME);
@@ -59,15 +81,53 @@ public class RabbitMQConfig {
                 .with(STOCK_REJECTED_ROUTING_KEY);
     }
 
-    @Bean
+    // JSON converter; __TypeId__ carries a logical name instead of the class name
     public MessageConverter converter() {
-        return new Jackson2JsonMessageConverter();
+        DefaultJacksonJavaTypeMapper typeMapper = new DefaultJacksonJavaTypeMapper();
+        typeMapper.setIdClassMapping(Map.of(
+                ORDER_CREATED_TYPE, OrderCreatedEvent.class,
+                STOCK_RESERVED_TYPE, StockReservedEvent.class,
+                STOCK_REJECTED_TYPE, StockRejectedEvent.class));
+        JacksonJsonMessageConverter converter = new JacksonJsonMessageConverter();
+        converter.setJavaTypeMapper(typeMapper);
+        return converter;
+    }
+
+    // Reads JSON and binary by content type; OrderCreated is written in order.outbox.format
+    @Bean
+    public MessageConverter messageConverter(OutboxProperties outboxProperties) {
+        return new EventMessageConverter(converter(), outboxProperties.getFormat());
+    }
+
+    // Boot applies it to the default listener factory; it replaces the container's advice chain,
+    // so enabling spring.rabbitmq.listener.simple.retry means adding its interceptor here
+    @Bean
+    public ContainerCustomizer<SimpleMessageListenerContainer> queueLatencyCustomizer(MeterRegistry meterRegistry) {
+        QueueLatencyAdvice advice = new QueueLatencyAdvice(meterRegistry, "orders.queue.latency");
+        return container -> container.setAdviceChain(advice);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "order.results.mode", havingValue = "batch")
+    public SimpleRabbitListenerContainerFactory resultsBatchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            ResultsConsumerProperties properties,
+            ContainerCustomizer<SimpleMessageListenerContainer> queueLatencyCustomizer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setContainerCustomizer(queueLatencyCustomizer);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(properties.getBatchSize());
+        factory.setReceiveTimeout(properties.getBatchReceiveTimeout().toMillis());
+        return factory;
     }
 
     @Bean
-    public AmqpTemplate amqpTemplate(ConnectionFactory connectionFactory) {
+    public AmqpTemplate amqpTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-        rabbitTemplate.setMessageConverter(converter());
+        rabbitTemplate.setMessageConverter(messageConverter);
         return rabbitTemplate;
     }
 }
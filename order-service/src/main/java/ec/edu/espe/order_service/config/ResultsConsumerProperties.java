@@ -0,0 +1,18 @@
+package ec.edu.espe.order_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order.results")
+public class ResultsConsumerProperties {
+
+    // single: one transaction per StockReserved/StockRejected | batch: many results per transaction
+    private String mode = "single";
+
+    private int batchSize = 100;
+
+    private Duration batchReceiveTimeout = Duration.ofMillis(100);
+}
@@ -1,12 +1,32 @@
 package ec.edu.espe.order_service.controller;
 
+import ec.edu.espe.order_service.dto.OrderHistoryPage;
 import ec.edu.espe.order_service.dto.OrderRequest;
 import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.intake.AsyncOrderIntake;
+import ec.edu.espe.order_service.model.OrderStatus;
+import ec.edu.espe.order_service.service.BulkOrderService;
+import ec.edu.espe.order_service.service.InvalidCursorException;
+import ec.edu.espe.order_service.service.OrderHistoryService;
+import ec.edu.espe.order_service.service.OrderRequestValidator;
 import ec.edu.espe.order_service.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DurationFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -14,15 +34,78 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final BulkOrderService bulkOrderService;
+    private final OrderHistoryService orderHistoryService;
+    // Present with order.intake.mode=async
+    private final ObjectProvider<AsyncOrderIntake> asyncOrderIntake;
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@RequestBody OrderRequest request) {
+        AsyncOrderIntake intake = asyncOrderIntake.getIfAvailable();
+        if (intake != null) {
+            return acceptOrder(intake, request);
+        }
         OrderResponse response = orderService.createOrder(request);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // Async intake: 202 once journaled and buffered (stored shortly after), 429 while the buffer is full
+    private ResponseEntity<OrderResponse> acceptOrder(AsyncOrderIntake intake, OrderRequest request) {
+        String error = OrderRequestValidator.validate(request);
+        if (error != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, error);
+        }
+        OrderResponse response = intake.accept(request);
+        if (response == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, intake.getRetryAfter().toSeconds())))
+                    .build();
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/orders/" + response.getOrderId()))
+                .body(response);
+    }
+
+    // Bulk intake: JSON array or NDJSON in, one NDJSON result line per order out (streamed both ways)
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createOrders(InputStream body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> bulkOrderService.createOrders(body, out));
+    }
+
+    // GET ?customerId=...[&status=&from=&to=&limit=&includeItems=true]: newest first; the next page is
+    // requested with &cursor= set to the previous page's nextCursor
+    @GetMapping(params = "customerId")
+    public ResponseEntity<OrderHistoryPage> getOrderHistory(@RequestParam String customerId,
+                                                            @RequestParam(required = false) OrderStatus status,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit,
+                                                            @RequestParam(defaultValue = "false") boolean includeItems) {
+        try {
+            return ResponseEntity.ok(orderHistoryService.getHistory(customerId, status, from, to, cursor, limit, includeItems));
+        } catch (InvalidCursorException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @GetMapping("/{orderId}")
     public ResponseEntity<OrderResponse> getOrder(@PathVariable String orderId) {
         return ResponseEntity.ok(orderService.getOrder(orderId));
     }
+
+    // GET /{orderId}?waitFor=final&timeout=30s holds the request until the order is CONFIRMED or CANCELLED
+    @GetMapping(value = "/{orderId}", params = "waitFor")
+    public DeferredResult<OrderResponse> waitForOrder(@PathVariable String orderId,
+                                                      @RequestParam String waitFor,
+                                                      @RequestParam(required = false) @DurationFormat(style = DurationFormat.Style.SIMPLE) Duration timeout) {
+        if (!"final".equals(waitFor)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported waitFor: " + waitFor);
+        }
+        return orderService.awaitFinalStatus(orderId, timeout);
+    }
 }
@@ -0,0 +1,10 @@
+package ec.edu.espe.order_service.dto;
+
+import java.time.LocalDateTime;
+
+// Order taken by the async intake (order.intake.mode=async): id assigned and journaled, not stored yet
+public record AcceptedOrder(
+        String orderId,
+        LocalDateTime acceptedAt,
+        OrderRequest request) {
+}
@@ -0,0 +1,21 @@
+package ec.edu.espe.order_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ec.edu.espe.order_service.model.OrderStatus;
+
+// One NDJSON line of the bulk intake response: index is the order's position in the request
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkOrderResult(
+        int index,
+        String orderId,
+        OrderStatus status,
+        String error) {
+
+    public static BulkOrderResult created(int index, OrderResponse order) {
+        return new BulkOrderResult(index, order.getOrderId(), order.getStatus(), null);
+    }
+
+    public static BulkOrderResult rejected(int index, String error) {
+        return new BulkOrderResult(index, null, null, error);
+    }
+}
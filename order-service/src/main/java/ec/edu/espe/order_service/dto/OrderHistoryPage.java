@@ -0,0 +1,16 @@
+package ec.edu.espe.order_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class OrderHistoryPage {
+    private String customerId;
+    // Newest first
+    private List<OrderSummary> orders;
+    // Pass as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+}
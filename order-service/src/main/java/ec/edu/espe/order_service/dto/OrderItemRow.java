@@ -0,0 +1,10 @@
+package ec.edu.espe.order_service.dto;
+
+import java.util.UUID;
+
+// Item of one of several orders, for filling a history page with includeItems=true
+public record OrderItemRow(
+        String orderId,
+        UUID productId,
+        Integer quantity) {
+}
@@ -0,0 +1,18 @@
+package ec.edu.espe.order_service.dto;
+
+import ec.edu.espe.order_service.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// One row per item (order columns repeated) from OrderRepository.findResponseRows
+public record OrderResponseRow(
+        String orderId,
+        String customerId,
+        OrderStatus status,
+        String message,
+        String reason,
+        LocalDateTime updatedAt,
+        UUID productId,
+        Integer quantity) {
+}
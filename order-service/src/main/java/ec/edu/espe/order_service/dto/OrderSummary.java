@@ -0,0 +1,21 @@
+package ec.edu.espe.order_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ec.edu.espe.order_service.model.OrderStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderSummary {
+    private String orderId;
+    private OrderStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    // Only with includeItems=true
+    private List<OrderItemDto> items;
+}
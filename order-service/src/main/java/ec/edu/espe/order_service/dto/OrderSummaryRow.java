@@ -0,0 +1,13 @@
+package ec.edu.espe.order_service.dto;
+
+import ec.edu.espe.order_service.model.OrderStatus;
+
+import java.time.LocalDateTime;
+
+// One order of a history page, read straight from the covering index (no entity, no items)
+public record OrderSummaryRow(
+        String orderId,
+        OrderStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
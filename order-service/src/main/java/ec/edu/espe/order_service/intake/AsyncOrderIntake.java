@@ -0,0 +1,276 @@
+package ec.edu.espe.order_service.intake;
+
+import ec.edu.espe.order_service.config.IntakeProperties;
+import ec.edu.espe.order_service.dto.AcceptedOrder;
+import ec.edu.espe.order_service.dto.OrderRequest;
+import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.model.OrderStatus;
+import ec.edu.espe.order_service.service.OrderResponseCache;
+import ec.edu.espe.order_service.service.OrderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.NonTransientDataAccessException;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * order.intake.mode=async: POST /orders is answered 202 once the order has its id and is in the
+ * journal and the bounded buffer. A single writer thread drains the buffer in micro-batches (one
+ * transaction and one outbox insert batch each). A full buffer refuses the order (429) instead
+ * of queuing without limit; orders left in the journal by a crash are stored on the next start.
+ * It starts (and replays the journal) before the web server and stops after it.
+ */
+@Slf4j
+public class AsyncOrderIntake implements SmartLifecycle {
+
+    private static final String ACCEPTED_MESSAGE = "Order accepted. Inventory check in progress.";
+    private static final String REFUSED_REASON = "Order data refused by the database";
+
+    // Below the web server (DEFAULT_PHASE - 2048): no request is accepted before the replay
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final OrderService orderService;
+    private final OrderResponseCache orderResponseCache;
+    private final IntakeJournal journal;
+    private final IntakeProperties properties;
+    private final ThreadFactory threadFactory;
+    private final BlockingQueue<Pending> buffer;
+    // Journal order and buffer order must match: release() relies on sequences leaving in order
+    private final ReentrantLock acceptLock = new ReentrantLock();
+    private final Counter rejected;
+    private final Counter refused;
+    private final Counter syncFailures;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread writer;
+
+    public AsyncOrderIntake(OrderService orderService, OrderResponseCache orderResponseCache, IntakeJournal journal,
+                            IntakeProperties properties, ThreadFactory threadFactory, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.orderResponseCache = orderResponseCache;
+        this.journal = journal;
+        this.properties = properties;
+        this.threadFactory = threadFactory;
+        this.buffer = new ArrayBlockingQueue<>(properties.getCapacity());
+        Gauge.builder("orders.intake.buffered", buffer, BlockingQueue::size)
+                .description("Orders accepted (202) and not stored yet")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orders.intake.rejected")
+                .description("Orders refused with 429 because the intake buffer was full")
+                .register(meterRegistry);
+        this.refused = Counter.builder("orders.intake.refused")
+                .description("Accepted orders the database refused (constraint or data errors), stored as REJECTED")
+                .register(meterRegistry);
+        this.syncFailures = Counter.builder("orders.intake.sync.failures")
+                .description("Orders answered 202 although the journal fsync failed")
+                .register(meterRegistry);
+    }
+
+    /** Returns the PENDING response to answer 202 with, or null if the buffer is full or the intake stopped. */
+    public OrderResponse accept(OrderRequest request) {
+        AcceptedOrder order = new AcceptedOrder(UUID.randomUUID().toString(), LocalDateTime.now(), request);
+        OrderResponse response = OrderResponse.builder()
+                .orderId(order.orderId())
+                .customerId(request.getCustomerId())
+                .status(OrderStatus.PENDING)
+                .message(ACCEPTED_MESSAGE)
+                .items(request.getItems())
+                .updatedAt(order.acceptedAt())
+                .build();
+
+        long sequence;
+        acceptLock.lock();
+        try {
+            // Only this method adds, under this lock: with room checked here the add cannot fail
+            if (!accepting || buffer.remainingCapacity() == 0) {
+                rejected.increment();
+                return null;
+            }
+            sequence = journal.append(order);
+            // Cached before the writer can store it, so polls after the 202 never miss and a
+            // fast status change is never overwritten by this PENDING entry
+            orderResponseCache.put(response);
+            buffer.add(new Pending(sequence, order));
+        } finally {
+            acceptLock.unlock();
+        }
+        try {
+            journal.sync(sequence);
+        } catch (UncheckedIOException e) {
+            // Already buffered and visible: the writer stores it, so a 500 would only make the client
+            // retry into a duplicate. What is lost is surviving a machine crash before it is stored
+            syncFailures.increment();
+            log.error("Intake journal fsync failed; order {} accepted without it", order.orderId(), e);
+        }
+        return response;
+    }
+
+    public Duration getRetryAfter() {
+        return properties.getRetryAfter();
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(properties.getBatchSize());
+        while (true) {
+            Pending first;
+            try {
+                first = buffer.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (!accepting) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            buffer.drainTo(batch, properties.getBatchSize() - 1);
+            if (!store(batch.stream().map(Pending::order).toList())) {
+                // Stopping with the database unavailable: the rest stays in the journal
+                log.warn("Intake stopped with {} accepted orders not stored; they are replayed on the next start",
+                        batch.size() + buffer.size());
+                return;
+            }
+            journal.release(batch.get(batch.size() - 1).sequence());
+            batch.clear();
+        }
+    }
+
+    /** Stores the orders, retrying while the database is unavailable. False only if stopped meanwhile. */
+    private boolean store(List<AcceptedOrder> orders) {
+        List<AcceptedOrder> pending = orders;
+        while (true) {
+            if (pending.size() > 1) {
+                try {
+                    orderService.createAcceptedOrders(pending);
+                    return true;
+                } catch (RuntimeException e) {
+                    log.error("Intake batch of {} orders failed, falling back to one transaction per order", pending.size(), e);
+                }
+            }
+            List<AcceptedOrder> retry = new ArrayList<>();
+            for (AcceptedOrder order : pending) {
+                try {
+                    orderService.createAcceptedOrders(List.of(order));
+                } catch (NonTransientDataAccessException e) {
+                    // Retrying cannot fix it, and keeping it would block every order behind it
+                    refuse(order, e);
+                } catch (RuntimeException e) {
+                    log.warn("Accepted order {} not stored, will retry: {}", order.orderId(), e.getMessage());
+                    retry.add(order);
+                }
+            }
+            if (retry.isEmpty()) {
+                return true;
+            }
+            if (!accepting) {
+                return false;
+            }
+            pending = retry;
+            try {
+                Thread.sleep(properties.getRetryBackoff());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    // The client already has its 202: keep the order as REJECTED, or in the journal's refused file
+    private void refuse(AcceptedOrder order, NonTransientDataAccessException cause) {
+        refused.increment();
+        try {
+            orderService.rejectAcceptedOrder(order, REFUSED_REASON);
+            log.error("Accepted order {} stored as REJECTED: the database refused it", order.orderId(), cause);
+            return;
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+        orderResponseCache.invalidate(List.of(order.orderId()));
+        try {
+            journal.keepRefused(order);
+            log.error("Accepted order {} refused by the database, even as REJECTED; kept in {}",
+                    order.orderId(), journal.refusedFile(), cause);
+        } catch (UncheckedIOException e) {
+            cause.addSuppressed(e);
+            log.error("Accepted order {} refused by the database and could not be kept: {}",
+                    order.orderId(), order, cause);
+        }
+    }
+
+    // Orders accepted before a crash: store the ones that did not make it, then forget the old segments
+    private void replay() {
+        List<AcceptedOrder> recovered = journal.recover();
+        int replayed = 0;
+        for (int from = 0; from < recovered.size(); from += properties.getBatchSize()) {
+            List<AcceptedOrder> chunk = recovered.subList(from, Math.min(from + properties.getBatchSize(), recovered.size()));
+            List<String> stored = orderService.findStoredOrderIds(chunk.stream().map(AcceptedOrder::orderId).toList());
+            List<AcceptedOrder> missing = chunk.stream().filter(order -> !stored.contains(order.orderId())).toList();
+            if (!missing.isEmpty() && !store(missing)) {
+                throw new IllegalStateException("Cannot replay the intake journal: database unavailable");
+            }
+            replayed += missing.size();
+        }
+        journal.deleteRecovered();
+        if (!recovered.isEmpty()) {
+            log.info("Intake journal replayed: {} accepted orders, {} were not stored yet", recovered.size(), replayed);
+        }
+    }
+
+    @Override
+    public void start() {
+        replay();
+        journal.open();
+        accepting = true;
+        writer = threadFactory.newThread(this::drain);
+        writer.start();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        acceptLock.lock();
+        try {
+            accepting = false;
+        } finally {
+            acceptLock.unlock();
+        }
+        try {
+            // The writer stores what is buffered before it exits
+            writer.join(Duration.ofSeconds(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+        running = false;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private record Pending(long sequence, AcceptedOrder order) {
+    }
+}
@@ -0,0 +1,267 @@
+package ec.edu.espe.order_service.intake;
+
+import ec.edu.espe.order_service.dto.AcceptedOrder;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of accepted orders: one JSON line per order, in numbered segment files.
+ * Concurrent appends share fsyncs (group commit): a caller whose line was already forced by
+ * another caller's sync returns without forcing again. Segments are dropped once every order in
+ * them is stored; whatever is left at startup is replayed.
+ */
+@Slf4j
+public class IntakeJournal {
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".journal";
+    // Not a segment: never replayed
+    private static final String REFUSED_FILE = "refused-orders.jsonl";
+
+    private final Path directory;
+    private final boolean fsync;
+    private final long segmentBytes;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    // Lock order: syncLock, then appendLock
+    private final Object syncLock = new Object();
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    // Rolled segments with the last sequence each holds, oldest first (writer thread only)
+    private final Deque<Segment> rolled = new ArrayDeque<>();
+    private final List<Path> recovered = new ArrayList<>();
+
+    private FileChannel channel;
+    private Path current;
+    private long currentBytes;
+    private long nextSegment;
+    private long lastSequence;
+    private volatile long syncedSequence;
+
+    public IntakeJournal(Path directory, boolean fsync, long segmentBytes, JsonMapper jsonMapper) {
+        this.directory = directory;
+        this.fsync = fsync;
+        this.segmentBytes = segmentBytes;
+        this.writer = jsonMapper.writerFor(AcceptedOrder.class);
+        this.reader = jsonMapper.readerFor(AcceptedOrder.class);
+    }
+
+    /** Orders left by the previous run, oldest first. Call before {@link #open}. */
+    public List<AcceptedOrder> recover() {
+        List<AcceptedOrder> orders = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments;
+            try (Stream<Path> files = Files.list(directory)) {
+                segments = files.filter(IntakeJournal::isSegment).sorted().toList();
+            }
+            for (Path segment : segments) {
+                for (String line : Files.readAllLines(segment)) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        orders.add(reader.readValue(line));
+                    } catch (JacksonException e) {
+                        // A crash in the middle of a write leaves a torn last line; that order never got its 202
+                        log.warn("Skipping unreadable intake journal line in {}", segment.getFileName());
+                    }
+                }
+                recovered.add(segment);
+                nextSegment = Math.max(nextSegment, segmentNumber(segment) + 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read intake journal in " + directory, e);
+        }
+        return orders;
+    }
+
+    /** Deletes the segments read by {@link #recover} once their orders are stored. */
+    public void deleteRecovered() {
+        recovered.forEach(IntakeJournal::delete);
+        recovered.clear();
+    }
+
+    public void open() {
+        appendLock.lock();
+        try {
+            openSegment();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /** Writes the order (no fsync) and returns its sequence number, for {@link #sync} and {@link #release}. */
+    public long append(AcceptedOrder order) {
+        byte[] json = writer.writeValueAsBytes(order);
+        ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        appendLock.lock();
+        try {
+            while (line.hasRemaining()) {
+                currentBytes += channel.write(line);
+            }
+            return ++lastSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write intake journal", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /** Returns once the line with this sequence is on disk; one fsync covers every line written before it. */
+    public void sync(long sequence) {
+        if (!fsync || syncedSequence >= sequence) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (syncedSequence >= sequence) {
+                return;
+            }
+            FileChannel target;
+            long upTo;
+            appendLock.lock();
+            try {
+                target = channel;
+                upTo = lastSequence;
+            } finally {
+                appendLock.unlock();
+            }
+            // Appends go on while forcing; they are covered by the next sync
+            try {
+                target.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot sync intake journal", e);
+            }
+            syncedSequence = upTo;
+        }
+    }
+
+    /**
+     * Called by the writer once every order up to this sequence is stored: drops the rolled
+     * segments it covers, empties the current one if nothing is left unstored, or rolls it when
+     * it is full.
+     */
+    public void release(long storedSequence) {
+        while (!rolled.isEmpty() && rolled.peekFirst().lastSequence() <= storedSequence) {
+            delete(rolled.pollFirst().path());
+        }
+        synchronized (syncLock) {
+            appendLock.lock();
+            try {
+                if (storedSequence == lastSequence && currentBytes > 0) {
+                    channel.truncate(0);
+                    currentBytes = 0;
+                } else if (currentBytes >= segmentBytes) {
+                    forceAndClose();
+                    rolled.addLast(new Segment(current, lastSequence));
+                    openSegment();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot roll intake journal", e);
+            } finally {
+                appendLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Keeps an accepted order the database refused for good (not even as REJECTED) in a file
+     * that is never replayed, so the 202 is not silently lost. Writer thread only.
+     */
+    public void keepRefused(AcceptedOrder order) {
+        byte[] json = writer.writeValueAsBytes(order);
+        ByteBuffer line = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+        try {
+            Files.createDirectories(directory);
+            try (FileChannel refused = FileChannel.open(directory.resolve(REFUSED_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                while (line.hasRemaining()) {
+                    refused.write(line);
+                }
+                if (fsync) {
+                    refused.force(false);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write refused intake order", e);
+        }
+    }
+
+    public Path refusedFile() {
+        return directory.resolve(REFUSED_FILE);
+    }
+
+    public void close() {
+        synchronized (syncLock) {
+            appendLock.lock();
+            try {
+                forceAndClose();
+                if (currentBytes == 0) {
+                    delete(current);
+                }
+            } catch (IOException e) {
+                log.warn("Cannot close intake journal", e);
+            } finally {
+                appendLock.unlock();
+            }
+        }
+    }
+
+    private void openSegment() {
+        current = directory.resolve(String.format("%s%020d%s", PREFIX, nextSegment++, SUFFIX));
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open intake journal segment " + current, e);
+        }
+        currentBytes = 0;
+    }
+
+    private void forceAndClose() throws IOException {
+        if (fsync) {
+            channel.force(false);
+        }
+        syncedSequence = lastSequence;
+        channel.close();
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static void delete(Path segment) {
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException e) {
+            log.warn("Cannot delete intake journal segment {}", segment, e);
+        }
+    }
+
+    private record Segment(Path path, long lastSequence) {
+    }
+}
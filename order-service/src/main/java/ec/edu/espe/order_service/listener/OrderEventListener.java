@@ -1,31 +1,54 @@
 package ec.edu.espe.order_service.listener;
 
+import ec.edu.espe.events.StockRejectedEvent;
+import ec.edu.espe.events.StockReservedEvent;
 import ec.edu.espe.order_service.config.RabbitMQConfig;
-import ec.edu.espe.order_service.dto.StockRejectedEvent;
-import ec.edu.espe.order_service.dto.StockReservedEvent;
+import ec.edu.espe.order_service.logging.LogSampler;
+import ec.edu.espe.order_service.service.OrderMetrics;
 import ec.edu.espe.order_service.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.amqp.rabbit.annotation.RabbitHandler;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+// One consumer for the results queue; the __TypeId__ header picks the handler
 @Component
+@ConditionalOnProperty(name = "order.results.mode", havingValue = "single", matchIfMissing = true)
+@RabbitListener(queues = RabbitMQConfig.ORDERS_RESULTS_QUEUE)
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventListener {
 
+    private static final LogSampler SAMPLED = new LogSampler(100);
+
     private final OrderService orderService;
+    private final OrderMetrics orderMetrics;
 
-    @RabbitListener(queues = RabbitMQConfig.ORDERS_RESULTS_QUEUE)
+    @RabbitHandler
     public void handleStockReserved(StockReservedEvent event) {
-        log.info("Received StockReserved event for order: {}", event.getOrderId());
-        orderService.confirmOrder(event.getOrderId().toString());
+        try (MDC.MDCCloseable ignored = MDC.putCloseable("correlationId", event.getCorrelationId())) {
+            if (SAMPLED.shouldLog(log)) {
+                log.info("Received StockReserved event for order: {}", event.getOrderId());
+            }
+            if (orderService.confirmOrder(event.getOrderId().toString())) {
+                orderMetrics.recordConfirmed(event.getOrderCreatedAt());
+            }
+        }
     }
 
-    @RabbitListener(queues = RabbitMQConfig.ORDERS_RESULTS_QUEUE)
+    @RabbitHandler
     public void handleStockRejected(StockRejectedEvent event) {
-        log.info("Received StockRejected event for order: {} - Reason: {}", 
-                event.getOrderId(), event.getReason());
-        orderService.cancelOrder(event.getOrderId().toString(), event.getReason());
+        try (MDC.MDCCloseable ignored = MDC.putCloseable("correlationId", event.getCorrelationId())) {
+            if (SAMPLED.shouldLog(log)) {
+                log.info("Received StockRejected event for order: {} - Reason: {}",
+                        event.getOrderId(), event.getReason());
+            }
+            if (orderService.cancelOrder(event.getOrderId().toString(), event.getReason())) {
+                orderMetrics.recordCancelled(event.getOrderCreatedAt());
+            }
+        }
     }
 }
@@ -0,0 +1,75 @@
+package ec.edu.espe.order_service.listener;
+
+import ec.edu.espe.events.StockRejectedEvent;
+import ec.edu.espe.events.StockReservedEvent;
+import ec.edu.espe.order_service.config.RabbitMQConfig;
+import ec.edu.espe.order_service.service.OrderMetrics;
+import ec.edu.espe.order_service.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * order.results.mode=batch: receives up to order.results.batch-size results and applies them
+ * in one transaction with bulk status updates. The container acks the whole batch together.
+ */
+@Component
+@ConditionalOnProperty(name = "order.results.mode", havingValue = "batch")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderResultsBatchListener {
+
+    private final OrderService orderService;
+    private final MessageConverter messageConverter;
+    private final OrderMetrics orderMetrics;
+
+    @RabbitListener(queues = RabbitMQConfig.ORDERS_RESULTS_QUEUE, containerFactory = "resultsBatchListenerContainerFactory")
+    public void handleResults(List<Message> messages) {
+        List<StockReservedEvent> reserved = new ArrayList<>();
+        List<StockRejectedEvent> rejected = new ArrayList<>();
+        for (Message message : messages) {
+            try {
+                Object event = messageConverter.fromMessage(message);
+                if (event instanceof StockReservedEvent stockReserved) {
+                    reserved.add(stockReserved);
+                } else if (event instanceof StockRejectedEvent stockRejected) {
+                    rejected.add(stockRejected);
+                } else {
+                    log.warn("Ignoring unexpected event type on results queue: {}", event.getClass().getName());
+                }
+            } catch (MessageConversionException e) {
+                // Redelivering would fail the same way
+                log.error("Dropping unreadable result message {}", message.getMessageProperties().getMessageId(), e);
+            }
+        }
+        log.debug("Received batch of {} results: {} reserved, {} rejected", messages.size(), reserved.size(), rejected.size());
+
+        try {
+            orderService.applyStockResults(reserved, rejected);
+            // The bulk updates only return counts: a redelivered result is timed again
+            reserved.forEach(event -> orderMetrics.recordConfirmed(event.getOrderCreatedAt()));
+            rejected.forEach(event -> orderMetrics.recordCancelled(event.getOrderCreatedAt()));
+        } catch (Exception e) {
+            // The batch transaction failed: apply each result on its own
+            log.error("Batch result update failed, falling back to one transaction per order", e);
+            for (StockReservedEvent event : reserved) {
+                if (orderService.confirmOrder(event.getOrderId().toString())) {
+                    orderMetrics.recordConfirmed(event.getOrderCreatedAt());
+                }
+            }
+            for (StockRejectedEvent event : rejected) {
+                if (orderService.cancelOrder(event.getOrderId().toString(), event.getReason())) {
+                    orderMetrics.recordCancelled(event.getOrderCreatedAt());
+                }
+            }
+        }
+    }
+}
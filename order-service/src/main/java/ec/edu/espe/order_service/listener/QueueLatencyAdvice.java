@@ -0,0 +1,65 @@
+package ec.edu.espe.order_service.listener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.core.Message;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue-to-ack latency: from the AMQP timestamp set by the publisher until the listener returns
+ * (with AUTO ack the container acks right after). Installed in the containers' advice chain;
+ * publisher and consumer clocks must be in sync (NTP).
+ */
+public class QueueLatencyAdvice implements MethodInterceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final String metricName;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public QueueLatencyAdvice(MeterRegistry meterRegistry, String metricName) {
+        this.meterRegistry = meterRegistry;
+        this.metricName = metricName;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        // Listener arguments: (Channel, Message | List<Message>)
+        Object data = invocation.getArguments()[1];
+        long now = System.currentTimeMillis();
+        if (data instanceof Message message) {
+            record(message, now);
+        } else if (data instanceof List<?> messages) {
+            for (Object message : messages) {
+                if (message instanceof Message amqpMessage) {
+                    record(amqpMessage, now);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void record(Message message, long now) {
+        Date timestamp = message.getMessageProperties().getTimestamp();
+        if (timestamp == null) {
+            return;
+        }
+        String queue = message.getMessageProperties().getConsumerQueue();
+        timers.computeIfAbsent(queue == null ? "unknown" : queue, name -> Timer.builder(metricName)
+                        .description("Time from publish to listener completion (ack)")
+                        .tag("queue", name)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry))
+                .record(Math.max(0, now - timestamp.getTime()), TimeUnit.MILLISECONDS);
+    }
+}
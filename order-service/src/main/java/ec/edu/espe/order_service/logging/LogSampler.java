@@ -0,0 +1,24 @@
+package ec.edu.espe.order_service.logging;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets one in {@code rate} per-order log lines through, or all of them when the logger is at
+ * DEBUG. Under load the per-order INFO lines cost more than the work they describe; the
+ * metrics carry the totals.
+ */
+public final class LogSampler {
+
+    private final int rate;
+    private final AtomicLong calls = new AtomicLong();
+
+    public LogSampler(int rate) {
+        this.rate = rate;
+    }
+
+    public boolean shouldLog(Logger log) {
+        return log.isDebugEnabled() || calls.getAndIncrement() % rate == 0;
+    }
+}
@@ -13,7 +13,13 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+// Customer history (GET /orders?customerId=): newest first with (created_at, order_id) as the
+// keyset, declared DESC so the page is read in index order (H2 cannot scan an index backwards).
+// Both indexes also hold status and updated_at, so a page is read from the index alone
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at DESC, order_id DESC, status, updated_at"),
+        @Index(name = "idx_orders_customer_status_created", columnList = "customer_id, status, created_at DESC, order_id DESC, updated_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -32,8 +38,10 @@ public class Order {
     private String message;
     private String reason; // For cancellation reason
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-    @JoinColumn(name = "order_id")
+    // LAZY: status transitions and listener paths never need the items; reads use a projection
+    // nullable/updatable = false: order_id goes in the item INSERT, no follow-up UPDATE per item
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false, updatable = false)
     private List<OrderItem> items;
 
     @Embedded
@@ -9,15 +9,19 @@ import lombok.NoArgsConstructor;
 import java.util.UUID;
 
 @Entity
-@Table(name = "order_items")
+// Items are always looked up by their order (GET /orders/{id}, history with includeItems)
+@Table(name = "order_items", indexes = @Index(name = "idx_order_items_order_id", columnList = "order_id"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderItem {
 
+    // Pooled sequence instead of IDENTITY: ids are known before the INSERT, so Hibernate can
+    // batch the item inserts (one sequence call per 50 items)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,50 @@
+package ec.edu.espe.order_service.model;
+
+import ec.edu.espe.events.outbox.OutboxRecord;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event waiting to be published. Written in the same transaction as the business change and
+ * published afterwards by OutboxRelay (at-least-once).
+ */
+@Entity
+@Table(name = "outbox_messages", indexes = @Index(name = "idx_outbox_sent_at_id", columnList = "sent_at, id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage implements OutboxRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // AMQP messageId, stable across relay retries
+    @Column(nullable = false, length = 36)
+    private String messageId;
+
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(nullable = false)
+    private String routingKey;
+
+    private String typeId;
+
+    private String contentType;
+
+    @Column(nullable = false, length = 65535)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,86 @@
+package ec.edu.espe.order_service.outbox;
+
+import ec.edu.espe.events.outbox.OutboxRelay;
+import ec.edu.espe.order_service.model.OutboxMessage;
+import ec.edu.espe.order_service.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.DefaultJacksonJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+    private final MessageConverter messageConverter;
+    private final OutboxRelay outboxRelay;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stores the serialized event (same body and __TypeId__ convertAndSend would produce) in
+     * the current transaction. It is published once that transaction commits.
+     */
+    @Transactional
+    public void enqueue(String exchange, String routingKey, Object event) {
+        outboxRepository.save(toOutboxMessage(exchange, routingKey, event));
+        wakeUpRelayAfterCommit();
+    }
+
+    /**
+     * Same as {@link #enqueue} for many events. The ids are IDENTITY, which Hibernate never
+     * batches, so the rows go in plain JDBC batches on the transaction's connection.
+     */
+    @Transactional
+    public void enqueueAll(String exchange, String routingKey, List<?> events) {
+        List<OutboxMessage> messages = events.stream().map(event -> toOutboxMessage(exchange, routingKey, event)).toList();
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox_messages (message_id, exchange, routing_key, type_id, content_type, payload, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                messages, messages.size(), (statement, message) -> {
+                    statement.setString(1, message.getMessageId());
+                    statement.setString(2, message.getExchange());
+                    statement.setString(3, message.getRoutingKey());
+                    statement.setString(4, message.getTypeId());
+                    statement.setString(5, message.getContentType());
+                    statement.setBytes(6, message.getPayload());
+                    statement.setTimestamp(7, Timestamp.valueOf(message.getCreatedAt()));
+                });
+        wakeUpRelayAfterCommit();
+    }
+
+    private OutboxMessage toOutboxMessage(String exchange, String routingKey, Object event) {
+        Message message = messageConverter.toMessage(event, new MessageProperties());
+        MessageProperties properties = message.getMessageProperties();
+
+        return OutboxMessage.builder()
+                .messageId(UUID.randomUUID().toString())
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .typeId(properties.getHeader(DefaultJacksonJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME))
+                .contentType(properties.getContentType())
+                .payload(message.getBody())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void wakeUpRelayAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package ec.edu.espe.order_service.repository;
+
+import ec.edu.espe.order_service.dto.OrderSummaryRow;
+import ec.edu.espe.order_service.model.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Custom fragment of OrderRepository (implemented in OrderHistoryRepositoryImpl)
+public interface OrderHistoryRepository {
+
+    /**
+     * Up to limit orders of the customer, newest first (createdAt, then orderId), optionally by
+     * status and createdAt in [from, to). With afterCreatedAt/afterOrderId only the orders that
+     * come after that keyset are returned. Null filters are left out of the query.
+     */
+    List<OrderSummaryRow> findHistory(String customerId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                      LocalDateTime afterCreatedAt, String afterOrderId, int limit);
+}
@@ -0,0 +1,58 @@
+package ec.edu.espe.order_service.repository;
+
+import ec.edu.espe.order_service.dto.OrderSummaryRow;
+import ec.edu.espe.order_service.model.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OrderHistoryRepositoryImpl implements OrderHistoryRepository {
+
+    private final EntityManager entityManager;
+
+    // The JPQL is built per combination of filters instead of "(:status IS NULL OR ...)", which
+    // would keep the database from using the status index and from bounding the scan
+    @Override
+    public List<OrderSummaryRow> findHistory(String customerId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                             LocalDateTime afterCreatedAt, String afterOrderId, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT new ec.edu.espe.order_service.dto.OrderSummaryRow("
+                + "o.orderId, o.status, o.createdAt, o.updatedAt) FROM Order o WHERE o.customerId = :customerId");
+        if (status != null) {
+            jpql.append(" AND o.status = :status");
+        }
+        if (from != null) {
+            jpql.append(" AND o.createdAt >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND o.createdAt < :to");
+        }
+        if (afterCreatedAt != null) {
+            // Same as (createdAt, orderId) < (:afterCreatedAt, :afterOrderId); the plain <= bound
+            // lets the index scan start at the keyset instead of filtering from the newest order
+            jpql.append(" AND o.createdAt <= :afterCreatedAt AND (o.createdAt < :afterCreatedAt OR o.orderId < :afterOrderId)");
+        }
+        jpql.append(" ORDER BY o.createdAt DESC, o.orderId DESC");
+
+        TypedQuery<OrderSummaryRow> query = entityManager.createQuery(jpql.toString(), OrderSummaryRow.class)
+                .setParameter("customerId", customerId)
+                .setMaxResults(limit);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (afterCreatedAt != null) {
+            query.setParameter("afterCreatedAt", afterCreatedAt);
+            query.setParameter("afterOrderId", afterOrderId);
+        }
+        return query.getResultList();
+    }
+}
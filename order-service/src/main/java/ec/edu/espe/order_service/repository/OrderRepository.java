@@ -1,9 +1,63 @@
 package ec.edu.espe.order_service.repository;
 
+import ec.edu.espe.order_service.dto.OrderItemRow;
+import ec.edu.espe.order_service.dto.OrderResponseRow;
 import ec.edu.espe.order_service.model.Order;
+import ec.edu.espe.order_service.model.OrderStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Order, String> {
+public interface OrderRepository extends JpaRepository<Order, String>, OrderHistoryRepository {
+
+    // Read path for GET /orders/{id}: a single query straight into DTO rows, no managed entities
+    @Query("SELECT new ec.edu.espe.order_service.dto.OrderResponseRow("
+            + "o.orderId, o.customerId, o.status, o.message, o.reason, o.updatedAt, i.productId, i.quantity) "
+            + "FROM Order o LEFT JOIN o.items i WHERE o.orderId = :orderId ORDER BY i.id")
+    List<OrderResponseRow> findResponseRows(@Param("orderId") String orderId);
+
+    // Items of a whole history page in one query (includeItems=true)
+    @Query("SELECT new ec.edu.espe.order_service.dto.OrderItemRow(o.orderId, i.productId, i.quantity) "
+            + "FROM Order o JOIN o.items i WHERE o.orderId IN :orderIds ORDER BY i.id")
+    List<OrderItemRow> findItemRows(@Param("orderIds") Collection<String> orderIds);
+
+    // Order with its items in one query, for callers that need the entity graph
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsByOrderId(String orderId);
+
+    @Query("SELECT o.orderId FROM Order o WHERE o.orderId IN :orderIds")
+    List<String> findExistingOrderIds(@Param("orderIds") Collection<String> orderIds);
+
+    // Status transitions as single UPDATEs: no entity load, no order_items access, and the
+    // WHERE status = :from guard enforces the transition. Return the number of orders moved.
+    // Bulk updates skip @UpdateTimestamp, so updatedAt is set explicitly
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.updatedAt = :now WHERE o.orderId IN :orderIds AND o.status = :from")
+    int transitionStatus(@Param("orderIds") Collection<String> orderIds, @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :to, o.reason = :reason, o.updatedAt = :now "
+            + "WHERE o.orderId IN :orderIds AND o.status = :from")
+    int transitionStatus(@Param("orderIds") Collection<String> orderIds, @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to, @Param("reason") String reason, @Param("now") LocalDateTime now);
+
+    // PENDING -> CONFIRMED; orders in any other state are left untouched
+    default int confirmPending(Collection<String> orderIds, LocalDateTime now) {
+        return transitionStatus(orderIds, OrderStatus.PENDING, OrderStatus.CONFIRMED, now);
+    }
+
+    // PENDING -> CANCELLED with the rejection reason
+    default int cancelPending(Collection<String> orderIds, String reason, LocalDateTime now) {
+        return transitionStatus(orderIds, OrderStatus.PENDING, OrderStatus.CANCELLED, reason, now);
+    }
 }
@@ -0,0 +1,34 @@
+package ec.edu.espe.order_service.repository;
+
+import ec.edu.espe.events.outbox.OutboxStore;
+import ec.edu.espe.order_service.model.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long>, OutboxStore<OutboxMessage> {
+
+    // FOR UPDATE SKIP LOCKED: relays on several instances pick disjoint batches
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Override
+    List<OutboxMessage> findBySentAtIsNullOrderByIdAsc(Limit limit);
+
+    @Override
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.sentAt = :sentAt WHERE m.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Override
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
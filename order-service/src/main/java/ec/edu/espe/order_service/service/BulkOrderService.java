@@ -0,0 +1,128 @@
+package ec.edu.espe.order_service.service;
+
+import ec.edu.espe.order_service.config.BulkIntakeProperties;
+import ec.edu.espe.order_service.dto.BulkOrderResult;
+import ec.edu.espe.order_service.dto.OrderRequest;
+import ec.edu.espe.order_service.dto.OrderResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.exc.StreamReadException;
+import tools.jackson.databind.DatabindException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Bulk intake: reads a JSON array or an NDJSON stream of orders, creates them in chunks of
+ * order.bulk.chunk-size (one transaction each, events through the outbox) and writes one NDJSON
+ * result line per order as each chunk commits. Only the current chunk is held in memory.
+ */
+@Service
+@Slf4j
+public class BulkOrderService {
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final OrderService orderService;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
+    private final int chunkSize;
+
+    public BulkOrderService(OrderService orderService, JsonMapper jsonMapper, BulkIntakeProperties properties) {
+        this.orderService = orderService;
+        this.requestReader = jsonMapper.readerFor(OrderRequest.class);
+        this.resultWriter = jsonMapper.writerFor(BulkOrderResult.class);
+        this.chunkSize = properties.getChunkSize();
+    }
+
+    public void createOrders(InputStream in, OutputStream out) throws IOException {
+        List<Entry> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        int created = 0;
+        // readValues iterates the elements of a root-level array as well as a sequence of root values
+        try (MappingIterator<OrderRequest> requests = requestReader.readValues(in)) {
+            while (true) {
+                Entry entry;
+                try {
+                    if (!requests.hasNextValue()) {
+                        break;
+                    }
+                    OrderRequest request = requests.nextValue();
+                    // Checked up front so a bad order gets its own error line instead of failing its chunk
+                    entry = new Entry(index, request, OrderRequestValidator.validate(request));
+                } catch (DatabindException e) {
+                    // Valid JSON that is not an order: the iterator skips it and goes on
+                    entry = new Entry(index, null, "Invalid order: " + e.getOriginalMessage());
+                } catch (StreamReadException e) {
+                    // Broken JSON cannot be resynchronized: answer what was read and stop
+                    chunk.add(new Entry(index, null, "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                }
+                chunk.add(entry);
+                index++;
+                if (chunk.size() == chunkSize) {
+                    created += writeChunk(chunk, out);
+                    chunk.clear();
+                }
+            }
+        }
+        created += writeChunk(chunk, out);
+        log.info("Bulk intake: {} orders received, {} created", index, created);
+    }
+
+    private int writeChunk(List<Entry> chunk, OutputStream out) throws IOException {
+        List<Entry> valid = chunk.stream().filter(entry -> entry.error() == null).toList();
+        List<BulkOrderResult> persisted = persist(valid);
+        Iterator<BulkOrderResult> persistedResults = persisted.iterator();
+        int created = 0;
+        for (Entry entry : chunk) {
+            BulkOrderResult result = entry.error() != null
+                    ? BulkOrderResult.rejected(entry.index(), entry.error())
+                    : persistedResults.next();
+            if (result.error() == null) {
+                created++;
+            }
+            out.write(resultWriter.writeValueAsBytes(result));
+            out.write(NEWLINE);
+        }
+        out.flush();
+        return created;
+    }
+
+    private List<BulkOrderResult> persist(List<Entry> valid) {
+        if (valid.isEmpty()) {
+            return List.of();
+        }
+        List<BulkOrderResult> results = new ArrayList<>(valid.size());
+        try {
+            List<OrderResponse> responses = orderService.createOrders(valid.stream().map(Entry::request).toList());
+            for (int i = 0; i < valid.size(); i++) {
+                results.add(BulkOrderResult.created(valid.get(i).index(), responses.get(i)));
+            }
+        } catch (RuntimeException e) {
+            // The chunk transaction failed: create each order on its own so one failure does not reject the rest
+            log.error("Bulk chunk of {} orders failed, falling back to one transaction per order", valid.size(), e);
+            results.clear();
+            for (Entry entry : valid) {
+                try {
+                    results.add(BulkOrderResult.created(entry.index(), orderService.createOrder(entry.request())));
+                } catch (RuntimeException orderFailure) {
+                    log.error("Bulk order at index {} failed", entry.index(), orderFailure);
+                    results.add(BulkOrderResult.rejected(entry.index(), "Order could not be created"));
+                }
+            }
+        }
+        return results;
+    }
+
+    private record Entry(int index, OrderRequest request, String error) {
+    }
+}
@@ -0,0 +1,9 @@
+package ec.edu.espe.order_service.service;
+
+// History cursor this service did not issue (or a corrupted one): answered 400
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor, Throwable cause) {
+        super("Invalid cursor: " + cursor, cause);
+    }
+}
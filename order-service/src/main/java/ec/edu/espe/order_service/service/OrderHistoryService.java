@@ -0,0 +1,109 @@
+package ec.edu.espe.order_service.service;
+
+import ec.edu.espe.order_service.dto.OrderHistoryPage;
+import ec.edu.espe.order_service.dto.OrderItemDto;
+import ec.edu.espe.order_service.dto.OrderItemRow;
+import ec.edu.espe.order_service.dto.OrderSummary;
+import ec.edu.espe.order_service.dto.OrderSummaryRow;
+import ec.edu.espe.order_service.model.OrderStatus;
+import ec.edu.espe.order_service.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Customer order history with keyset pagination: each page continues after the (createdAt,
+ * orderId) of the previous page's last order, carried in an opaque cursor. A page costs the same
+ * for the first and the thousandth page, where OFFSET would read and discard every earlier row.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderHistoryService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private final OrderRepository orderRepository;
+
+    /** Throws InvalidCursorException for a cursor this service did not issue. */
+    @Transactional(readOnly = true)
+    public OrderHistoryPage getHistory(String customerId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                       String cursor, Integer limit, boolean includeItems) {
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+        Keyset after = cursor != null ? Keyset.decode(cursor) : null;
+
+        // One extra row tells whether there is a next page without a COUNT
+        List<OrderSummaryRow> rows = orderRepository.findHistory(customerId, status, from, to,
+                after != null ? after.createdAt() : null, after != null ? after.orderId() : null, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        Map<String, List<OrderItemDto>> items = includeItems ? loadItems(rows) : Map.of();
+        List<OrderSummary> orders = new ArrayList<>(rows.size());
+        for (OrderSummaryRow row : rows) {
+            orders.add(OrderSummary.builder()
+                    .orderId(row.orderId())
+                    .status(row.status())
+                    .createdAt(row.createdAt())
+                    .updatedAt(row.updatedAt())
+                    .items(includeItems ? items.getOrDefault(row.orderId(), List.of()) : null)
+                    .build());
+        }
+
+        OrderSummaryRow last = hasMore ? rows.get(rows.size() - 1) : null;
+        return OrderHistoryPage.builder()
+                .customerId(customerId)
+                .orders(orders)
+                .nextCursor(last != null ? new Keyset(last.createdAt(), last.orderId()).encode() : null)
+                .build();
+    }
+
+    private Map<String, List<OrderItemDto>> loadItems(List<OrderSummaryRow> rows) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<OrderItemDto>> items = new HashMap<>();
+        for (OrderItemRow row : orderRepository.findItemRows(rows.stream().map(OrderSummaryRow::orderId).toList())) {
+            items.computeIfAbsent(row.orderId(), id -> new ArrayList<>()).add(new OrderItemDto(row.productId(), row.quantity()));
+        }
+        return items;
+    }
+
+    // Position after the last order of a page; opaque to clients (base64url of "createdAt|orderId")
+    record Keyset(LocalDateTime createdAt, String orderId) {
+
+        String encode() {
+            String raw = createdAt + "|" + orderId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Keyset decode(String cursor) {
+            String raw;
+            try {
+                raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidCursorException(cursor, e);
+            }
+            int separator = raw.indexOf('|');
+            if (separator < 0 || separator == raw.length() - 1) {
+                throw new InvalidCursorException(cursor, null);
+            }
+            try {
+                return new Keyset(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+            } catch (DateTimeParseException e) {
+                throw new InvalidCursorException(cursor, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ec.edu.espe.order_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * End-to-end latency, from OrderCreated (its createdAt, echoed back by inventory-service as
+ * orderCreatedAt) until the order is CONFIRMED or CANCELLED here. Exported as a histogram
+ * under /actuator/prometheus.
+ */
+@Component
+public class OrderMetrics {
+
+    private final Timer confirmed;
+    private final Timer cancelled;
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        this.confirmed = e2eTimer(meterRegistry, "confirmed");
+        this.cancelled = e2eTimer(meterRegistry, "cancelled");
+    }
+
+    public void recordConfirmed(LocalDateTime orderCreatedAt) {
+        record(confirmed, orderCreatedAt);
+    }
+
+    public void recordCancelled(LocalDateTime orderCreatedAt) {
+        record(cancelled, orderCreatedAt);
+    }
+
+    // Results from an older inventory-service do not carry orderCreatedAt
+    private static void record(Timer timer, LocalDateTime orderCreatedAt) {
+        if (orderCreatedAt != null) {
+            Duration elapsed = Duration.between(orderCreatedAt, LocalDateTime.now());
+            timer.record(elapsed.isNegative() ? Duration.ZERO : elapsed);
+        }
+    }
+
+    private static Timer e2eTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("orders.e2e.latency")
+                .description("Time from order creation to its final status")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package ec.edu.espe.order_service.service;
+
+import ec.edu.espe.order_service.dto.OrderItemDto;
+import ec.edu.espe.order_service.dto.OrderRequest;
+
+// Checks for the intake paths that answer before the order reaches the database (bulk, async)
+public final class OrderRequestValidator {
+
+    private OrderRequestValidator() {
+    }
+
+    /** Returns the first problem found, or null if the order can be created. */
+    public static String validate(OrderRequest request) {
+        if (request == null) {
+            return "Order is empty";
+        }
+        if (request.getCustomerId() == null || request.getCustomerId().isBlank()) {
+            return "customerId is required";
+        }
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            return "items must not be empty";
+        }
+        for (int i = 0; i < request.getItems().size(); i++) {
+            OrderItemDto item = request.getItems().get(i);
+            if (item == null || item.getProductId() == null) {
+                return "items[" + i + "].productId is required";
+            }
+            if (item.getQuantity() == null || item.getQuantity() <= 0) {
+                return "items[" + i + "].quantity must be positive";
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package ec.edu.espe.order_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.model.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Bounded (W-TinyLFU) cache of OrderResponse for the GET polling path. Filled on createOrder and
+ * updated in place when a result event moves the order, so polls while PENDING do not hit the
+ * database. cache.gets{result=hit|miss}, cache.size and cache.evictions are under /actuator/metrics.
+ */
+public class OrderResponseCache {
+
+    private final Cache<String, OrderResponse> cache;
+
+    public OrderResponseCache(long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orderResponse");
+    }
+
+    // Loader exceptions (order not found) propagate and nothing is cached
+    public OrderResponse get(String orderId, Function<String, OrderResponse> loader) {
+        return cache.get(orderId, loader);
+    }
+
+    public void put(OrderResponse response) {
+        cache.put(response.getOrderId(), response);
+    }
+
+    /**
+     * Applies a committed status change to the cached entry, if any. Runs under the entry's lock,
+     * so a concurrent load that read the old row is corrected instead of overwriting the change.
+     * Returns the updated entry, or null when the order was not cached.
+     */
+    public OrderResponse applyTransition(String orderId, OrderStatus status, String reason, LocalDateTime updatedAt) {
+        return cache.asMap().computeIfPresent(orderId, (id, cached) -> cached.toBuilder()
+                .status(status)
+                .reason(reason)
+                .updatedAt(updatedAt)
+                .build());
+    }
+
+    public void invalidate(Collection<String> orderIds) {
+        cache.invalidateAll(orderIds);
+    }
+}
@@ -1,20 +1,33 @@
 package ec.edu.espe.order_service.service;
 
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.StockRejectedEvent;
+import ec.edu.espe.events.StockReservedEvent;
+import ec.edu.espe.order_service.config.LongPollProperties;
 import ec.edu.espe.order_service.config.RabbitMQConfig;
 import ec.edu.espe.order_service.dto.*;
+import ec.edu.espe.order_service.logging.LogSampler;
 import ec.edu.espe.order_service.model.Order;
 import ec.edu.espe.order_service.model.OrderItem;
 import ec.edu.espe.order_service.model.OrderStatus;
 import ec.edu.espe.order_service.model.ShippingAddress;
+import ec.edu.espe.order_service.outbox.OutboxWriter;
 import ec.edu.espe.order_service.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,13 +36,125 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderService {
 
+    private static final LogSampler SAMPLED = new LogSampler(100);
+
     private final OrderRepository orderRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxWriter outboxWriter;
+    private final OrderResponseCache orderResponseCache;
+    private final OrderStatusWaiters orderStatusWaiters;
+    private final LongPollProperties longPollProperties;
+    private final EntityManager entityManager;
 
     @Transactional
     public OrderResponse createOrder(OrderRequest request) {
-        log.info("Creating order for customer: {}", request.getCustomerId());
+        if (SAMPLED.shouldLog(log)) {
+            log.info("Creating order for customer: {}", request.getCustomerId());
+        }
+
+        Order savedOrder = orderRepository.save(toOrder(request));
+
+        // Same transaction as the order; the outbox relay publishes it after commit
+        outboxWriter.enqueue(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.ORDER_CREATED_ROUTING_KEY,
+                toEvent(savedOrder, LocalDateTime.now()));
+        log.debug("Queued OrderCreated event for order: {}", savedOrder.getOrderId());
+
+        // Clients start polling right away; serve those polls from the cache
+        OrderResponse response = mapToOrderResponse(savedOrder);
+        afterCommit(() -> orderResponseCache.put(response));
+        return response;
+    }
+
+    // Bulk intake: the whole chunk in one transaction, orders and items in JDBC batches, one outbox insert batch
+    @Transactional
+    public List<OrderResponse> createOrders(List<OrderRequest> requests) {
+        List<Order> savedOrders = orderRepository.saveAll(requests.stream().map(this::toOrder).toList());
+        outboxWriter.enqueueAll(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.ORDER_CREATED_ROUTING_KEY,
+                savedOrders.stream().map(order -> toEvent(order, LocalDateTime.now())).toList());
+        log.debug("Queued {} OrderCreated events", savedOrders.size());
+
+        // Not cached: a burst of thousands of new orders would push the polled ones out of the cache
+        return savedOrders.stream().map(this::mapToOrderResponse).toList();
+    }
+
+    // Async intake writer: orders that already have their id (and a 202), one micro-batch per transaction
+    @Transactional
+    public void createAcceptedOrders(List<AcceptedOrder> accepted) {
+        List<OrderCreatedEvent> events = new ArrayList<>(accepted.size());
+        for (AcceptedOrder acceptedOrder : accepted) {
+            Order order = toOrder(acceptedOrder.request());
+            order.setOrderId(acceptedOrder.orderId());
+            // persist, not save: save() takes an assigned id for an existing row and SELECTs it first
+            entityManager.persist(order);
+            // createdAt is the acceptance time, so orders.e2e.latency includes the wait in the buffer
+            events.add(toEvent(order, acceptedOrder.acceptedAt()));
+        }
+        outboxWriter.enqueueAll(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.ORDER_CREATED_ROUTING_KEY, events);
+        log.debug("Stored {} accepted orders", accepted.size());
+    }
+
+    // Async intake: an accepted order the database refused keeps its id as REJECTED, without items or
+    // event, so polls after the 202 end with a final status instead of a 404
+    @Transactional
+    public void rejectAcceptedOrder(AcceptedOrder accepted, String reason) {
+        Order order = new Order();
+        order.setOrderId(accepted.orderId());
+        order.setCustomerId(accepted.request().getCustomerId());
+        order.setStatus(OrderStatus.REJECTED);
+        order.setMessage("Order could not be stored.");
+        order.setReason(reason);
+        order.setItems(new ArrayList<>());
+        entityManager.persist(order);
+        afterCommit(() -> {
+            OrderResponse response = mapToOrderResponse(order);
+            orderResponseCache.put(response);
+            wakeWaiters(order.getOrderId(), response);
+        });
+    }
+
+    // Journal replay: which of these accepted orders were already stored before the restart
+    public List<String> findStoredOrderIds(List<String> orderIds) {
+        return orderRepository.findExistingOrderIds(orderIds);
+    }
+
+    public OrderResponse getOrder(String orderId) {
+        return orderResponseCache.get(orderId, this::loadOrder);
+    }
+
+    // Long-poll: answered when the result listener moves the order, or with the current status on timeout
+    public DeferredResult<OrderResponse> awaitFinalStatus(String orderId, Duration timeout) {
+        Duration wait = timeout != null ? timeout : longPollProperties.getDefaultTimeout();
+        if (wait.compareTo(longPollProperties.getMaxTimeout()) > 0) {
+            wait = longPollProperties.getMaxTimeout();
+        }
+        return orderStatusWaiters.await(orderId, wait, this::getOrder);
+    }
+
+    private OrderResponse loadOrder(String orderId) {
+        List<OrderResponseRow> rows = orderRepository.findResponseRows(orderId);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Order not found");
+        }
+        List<OrderItemDto> itemDtos = new ArrayList<>(rows.size());
+        for (OrderResponseRow row : rows) {
+            // LEFT JOIN: an order without items comes back as a single row with null item columns
+            if (row.productId() != null) {
+                itemDtos.add(new OrderItemDto(row.productId(), row.quantity()));
+            }
+        }
 
+        OrderResponseRow order = rows.get(0);
+        return OrderResponse.builder()
+                .orderId(order.orderId())
+                .customerId(order.customerId())
+                .status(order.status())
+                .message(order.message())
+                .reason(order.reason())
+                .items(itemDtos)
+                .updatedAt(order.updatedAt())
+                .build();
+    }
+
+    private Order toOrder(OrderRequest request) {
         Order order = new Order();
         order.setCustomerId(request.getCustomerId());
         order.setStatus(OrderStatus.PENDING);
@@ -53,31 +178,22 @@ public class OrderService {
             return item;
         }).collect(Collectors.toList());
         order.setItems(items);
+        return order;
+    }
 
-        Order savedOrder = orderRepository.save(order);
-
-        // Publish Event
-        OrderCreatedEvent event = OrderCreatedEvent.builder()
-                .eventType("OrderCreated")
-                .orderId(savedOrder.getOrderId())
+    private OrderCreatedEvent toEvent(Order savedOrder, LocalDateTime createdAt) {
+        return OrderCreatedEvent.builder()
+                .orderId(UUID.fromString(savedOrder.getOrderId()))
+                .customerId(savedOrder.getCustomerId())
                 .correlationId(UUID.randomUUID().toString())
-                .createdAt(LocalDateTime.now())
-                .items(request.getItems())
+                .createdAt(createdAt)
+                .items(savedOrder.getItems().stream()
+                        .map(item -> new ec.edu.espe.events.OrderItem(item.getProductId(), item.getQuantity()))
+                        .toList())
                 .build();
-
-        rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_NAME, RabbitMQConfig.ORDER_CREATED_ROUTING_KEY, event);
-        log.info("Published OrderCreated event for order: {}", savedOrder.getOrderId());
-
-        return mapToOrderResponse(savedOrder);
     }
 
-    public OrderResponse getOrder(String orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-        return mapToOrderResponse(order);
-    }
-
-    private OrderResponse mapToOrderResponse(Order order) {
+    public OrderResponse mapToOrderResponse(Order order) {
         List<OrderItemDto> itemDtos = order.getItems().stream()
                 .map(item -> new OrderItemDto(item.getProductId(), item.getQuantity()))
                 .collect(Collectors.toList());
@@ -93,29 +209,87 @@ public class OrderService {
                 .build();
     }
     
+    // Batch path: one UPDATE for all confirmations and one per distinct rejection reason
+    @Transactional
+    public void applyStockResults(List<StockReservedEvent> reserved, List<StockRejectedEvent> rejected) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!reserved.isEmpty()) {
+            List<String> orderIds = reserved.stream().map(event -> event.getOrderId().toString()).toList();
+            int confirmed = orderRepository.confirmPending(orderIds, now);
+            log.debug("Confirmed {} of {} orders", confirmed, orderIds.size());
+        }
+        Map<String, List<String>> rejectedByReason = rejected.stream().collect(Collectors.groupingBy(
+                event -> Objects.toString(event.getReason(), ""),
+                Collectors.mapping(event -> event.getOrderId().toString(), Collectors.toList())));
+        rejectedByReason.forEach((reason, orderIds) -> {
+            int cancelled = orderRepository.cancelPending(orderIds, reason, now);
+            log.debug("Cancelled {} of {} orders: {}", cancelled, orderIds.size(), reason);
+        });
+
+        // The bulk updates do not say which orders actually moved, so drop them and let the next read reload
+        List<String> changed = new ArrayList<>(reserved.size() + rejected.size());
+        reserved.forEach(event -> changed.add(event.getOrderId().toString()));
+        rejected.forEach(event -> changed.add(event.getOrderId().toString()));
+        afterCommit(() -> {
+            orderResponseCache.invalidate(changed);
+            for (String orderId : changed) {
+                if (orderStatusWaiters.hasWaiters(orderId)) {
+                    wakeWaiters(orderId, getOrder(orderId));
+                }
+            }
+        });
+    }
+
     @Transactional
-    public void confirmOrder(String orderId) {
-         Order order = orderRepository.findById(orderId).orElse(null);
-         if(order != null) {
-             order.setStatus(OrderStatus.CONFIRMED);
-             // order.setMessage("Order Confirmed"); // Optional
-             orderRepository.save(order);
-             log.info("Order {} confirmed", orderId);
-         } else {
-             log.warn("Order {} not found for confirmation", orderId);
-         }
+    public boolean confirmOrder(String orderId) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = orderRepository.confirmPending(List.of(orderId), now);
+        if (updated == 0) {
+            log.warn("Order {} not confirmed: not found or no longer PENDING", orderId);
+            return false;
+        }
+        afterCommit(() -> publishTransition(orderId, OrderStatus.CONFIRMED, null, now));
+        log.debug("Order {} confirmed", orderId);
+        return true;
     }
 
     @Transactional
-    public void cancelOrder(String orderId, String reason) {
-        Order order = orderRepository.findById(orderId).orElse(null);
-        if(order != null) {
-            order.setStatus(OrderStatus.CANCELLED);
-            order.setReason(reason);
-            orderRepository.save(order);
-            log.info("Order {} cancelled: {}", orderId, reason);
+    public boolean cancelOrder(String orderId, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = orderRepository.cancelPending(List.of(orderId), reason, now);
+        if (updated == 0) {
+            log.warn("Order {} not cancelled: not found or no longer PENDING", orderId);
+            return false;
+        }
+        afterCommit(() -> publishTransition(orderId, OrderStatus.CANCELLED, reason, now));
+        log.debug("Order {} cancelled: {}", orderId, reason);
+        return true;
+    }
+
+    private void publishTransition(String orderId, OrderStatus status, String reason, LocalDateTime now) {
+        OrderResponse updated = orderResponseCache.applyTransition(orderId, status, reason, now);
+        if (orderStatusWaiters.hasWaiters(orderId)) {
+            // Waiters read the order before parking, so it is normally cached; reload if it was evicted
+            wakeWaiters(orderId, updated != null ? updated : getOrder(orderId));
+        }
+    }
+
+    private void wakeWaiters(String orderId, OrderResponse response) {
+        if (OrderStatusWaiters.isFinal(response)) {
+            orderStatusWaiters.complete(orderId, response);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
         } else {
-             log.warn("Order {} not found for cancellation", orderId);
+            action.run();
         }
     }
 }
@@ -0,0 +1,84 @@
+package ec.edu.espe.order_service.service;
+
+import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.model.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Long-poll requests waiting for an order to leave PENDING. Each waiter is a parked DeferredResult
+ * (no thread held); {@link #complete} is called from the result listener after the status change
+ * commits. orders.status.waiters gauges how many requests are parked.
+ */
+public class OrderStatusWaiters {
+
+    private final ConcurrentMap<String, Set<DeferredResult<OrderResponse>>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger parked = new AtomicInteger();
+
+    public OrderStatusWaiters(MeterRegistry meterRegistry) {
+        Gauge.builder("orders.status.waiters", parked, AtomicInteger::get)
+                .description("Long-poll requests waiting for a final order status")
+                .register(meterRegistry);
+    }
+
+    public static boolean isFinal(OrderResponse response) {
+        return response.getStatus() != OrderStatus.PENDING;
+    }
+
+    /**
+     * Answers right away if the order is already final, otherwise parks the request until
+     * {@link #complete} or the timeout, which answers with whatever the reader returns then.
+     */
+    public DeferredResult<OrderResponse> await(String orderId, Duration timeout, Function<String, OrderResponse> reader) {
+        DeferredResult<OrderResponse> result = new DeferredResult<>(timeout.toMillis());
+        OrderResponse current = reader.apply(orderId);
+        if (isFinal(current)) {
+            result.setResult(current);
+            return result;
+        }
+
+        result.onTimeout(() -> result.setResult(reader.apply(orderId)));
+        result.onCompletion(() -> remove(orderId, result));
+        waiters.compute(orderId, (id, set) -> {
+            Set<DeferredResult<OrderResponse>> waiting = set != null ? set : ConcurrentHashMap.newKeySet();
+            waiting.add(result);
+            return waiting;
+        });
+        parked.incrementAndGet();
+
+        // The order may have moved between the first read and the registration; the listener
+        // updates the cache before waking, so a second read closes that window
+        OrderResponse recheck = reader.apply(orderId);
+        if (isFinal(recheck)) {
+            complete(orderId, recheck);
+        }
+        return result;
+    }
+
+    public boolean hasWaiters(String orderId) {
+        return waiters.containsKey(orderId);
+    }
+
+    public void complete(String orderId, OrderResponse response) {
+        Set<DeferredResult<OrderResponse>> waiting = waiters.remove(orderId);
+        if (waiting != null) {
+            waiting.forEach(result -> result.setResult(response));
+        }
+    }
+
+    private void remove(String orderId, DeferredResult<OrderResponse> result) {
+        parked.decrementAndGet();
+        waiters.computeIfPresent(orderId, (id, set) -> {
+            set.remove(result);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package ec.edu.espe.order_service.config;
+
+import ec.edu.espe.events.OrderCreatedEvent;
+import ec.edu.espe.events.StockRejectedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RabbitMQConfigTest {
+
+    private final MessageConverter converter = new RabbitMQConfig().converter();
+
+    @Test
+    void writesLogicalTypeId() {
+        OrderCreatedEvent event = OrderCreatedEvent.builder()
+                .orderId(UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .items(List.of())
+                .build();
+
+        Message message = converter.toMessage(event, new MessageProperties());
+
+        assertThat((String) message.getMessageProperties().getHeader("__TypeId__"))
+                .isEqualTo(RabbitMQConfig.ORDER_CREATED_TYPE);
+    }
+
+    @Test
+    void readsResultByLogicalTypeId() {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader("__TypeId__", RabbitMQConfig.STOCK_REJECTED_TYPE);
+        String json = "{\"orderId\":\"0d3f6b7c-9a8e-4c12-8f67-5e0c2a1b9d34\",\"status\":\"REJECTED\",\"reason\":\"Insufficient stock\"}";
+
+        Object event = converter.fromMessage(new Message(json.getBytes(StandardCharsets.UTF_8), properties));
+
+        assertThat(event).isInstanceOf(StockRejectedEvent.class);
+        assertThat(((StockRejectedEvent) event).getReason()).isEqualTo("Insufficient stock");
+    }
+}
@@ -0,0 +1,209 @@
+package ec.edu.espe.order_service.intake;
+
+import ec.edu.espe.order_service.config.IntakeProperties;
+import ec.edu.espe.order_service.dto.AcceptedOrder;
+import ec.edu.espe.order_service.dto.OrderItemDto;
+import ec.edu.espe.order_service.dto.OrderRequest;
+import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.model.OrderStatus;
+import ec.edu.espe.order_service.service.OrderResponseCache;
+import ec.edu.espe.order_service.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class AsyncOrderIntakeTest {
+
+    @TempDir
+    Path journalDirectory;
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final OrderResponseCache cache = new OrderResponseCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    private final List<List<String>> storedBatches = Collections.synchronizedList(new ArrayList<>());
+    private AsyncOrderIntake intake;
+
+    @AfterEach
+    void stopIntake() {
+        if (intake != null && intake.isRunning()) {
+            intake.stop();
+        }
+    }
+
+    @Test
+    void acceptsWithAssignedIdAndStoresInMicroBatches() {
+        recordStoredBatches();
+        intake = start(100);
+
+        List<String> orderIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            OrderResponse response = intake.accept(request());
+            assertThat(response.getStatus()).isEqualTo(OrderStatus.PENDING);
+            orderIds.add(response.getOrderId());
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> storedIds().size() == 10);
+        assertThat(storedIds()).containsExactlyElementsOf(orderIds);
+        // Polls right after the 202 are answered from the cache
+        assertThat(cache.get(orderIds.get(0), id -> null).getStatus()).isEqualTo(OrderStatus.PENDING);
+    }
+
+    @Test
+    void refusesWhenBufferIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(orderService).createAcceptedOrders(anyList());
+        intake = start(2);
+
+        // The writer holds the first order; two more fill the buffer
+        assertThat(intake.accept(request())).isNotNull();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> verify(orderService).createAcceptedOrders(anyList()));
+        assertThat(intake.accept(request())).isNotNull();
+        assertThat(intake.accept(request())).isNotNull();
+        assertThat(intake.accept(request())).isNull();
+
+        release.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> intake.accept(request()) != null);
+    }
+
+    @Test
+    void storesOrderTheDatabaseRefusesAsRejectedAndKeepsTheRest() {
+        refuseCustomer("bad");
+        intake = start(100);
+
+        OrderResponse good = intake.accept(request());
+        OrderResponse bad = intake.accept(request("bad"));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> storedIds().contains(good.getOrderId()));
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                verify(orderService).rejectAcceptedOrder(argThat(order -> order.orderId().equals(bad.getOrderId())), anyString()));
+        assertThat(storedIds()).doesNotContain(bad.getOrderId());
+    }
+
+    @Test
+    void keepsRefusedOrderInTheJournalWhenItCannotBeStoredAsRejected() {
+        refuseCustomer("bad");
+        doThrow(new DataIntegrityViolationException("value too long"))
+                .when(orderService).rejectAcceptedOrder(any(), anyString());
+        intake = start(100);
+
+        OrderResponse bad = intake.accept(request("bad"));
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(cache.get(bad.getOrderId(), id -> null)).isNull());
+        Path refused = journalDirectory.resolve("refused-orders.jsonl");
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() ->
+                assertThat(Files.readString(refused)).contains(bad.getOrderId()));
+    }
+
+    @Test
+    void replaysJournaledOrdersThatWereNotStored() throws Exception {
+        // A previous run accepted three orders and crashed after storing only the first
+        IntakeProperties properties = properties(100);
+        IntakeJournal previous = journal(properties);
+        previous.recover();
+        previous.open();
+        List<AcceptedOrder> accepted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            AcceptedOrder order = new AcceptedOrder(UUID.randomUUID().toString(), LocalDateTime.now(), request());
+            previous.sync(previous.append(order));
+            accepted.add(order);
+        }
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            Path segment = files.findFirst().orElseThrow();
+            Files.writeString(segment, "{\"orderId\":\"torn", StandardOpenOption.APPEND);
+        }
+        when(orderService.findStoredOrderIds(anyList())).thenReturn(List.of(accepted.get(0).orderId()));
+        recordStoredBatches();
+
+        intake = start(100);
+
+        assertThat(storedIds()).containsExactly(accepted.get(1).orderId(), accepted.get(2).orderId());
+        intake.stop();
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private AsyncOrderIntake start(int capacity) {
+        IntakeProperties properties = properties(capacity);
+        AsyncOrderIntake started = new AsyncOrderIntake(orderService, cache, journal(properties), properties,
+                Thread.ofPlatform().daemon().factory(), new SimpleMeterRegistry());
+        started.start();
+        return started;
+    }
+
+    private IntakeProperties properties(int capacity) {
+        IntakeProperties properties = new IntakeProperties();
+        properties.setCapacity(capacity);
+        properties.setBatchSize(50);
+        properties.getJournal().setDirectory(journalDirectory);
+        return properties;
+    }
+
+    private IntakeJournal journal(IntakeProperties properties) {
+        IntakeProperties.Journal journal = properties.getJournal();
+        return new IntakeJournal(journal.getDirectory(), journal.isFsync(), journal.getSegmentBytes(), JsonMapper.builder().build());
+    }
+
+    private void recordStoredBatches() {
+        doAnswer(invocation -> {
+            List<AcceptedOrder> orders = invocation.getArgument(0);
+            storedBatches.add(orders.stream().map(AcceptedOrder::orderId).toList());
+            return null;
+        }).when(orderService).createAcceptedOrders(anyList());
+    }
+
+    private List<String> storedIds() {
+        synchronized (storedBatches) {
+            return storedBatches.stream().flatMap(List::stream).toList();
+        }
+    }
+
+    private void refuseCustomer(String customerId) {
+        doAnswer(invocation -> {
+            List<AcceptedOrder> orders = invocation.getArgument(0);
+            if (orders.stream().anyMatch(order -> order.request().getCustomerId().equals(customerId))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            storedBatches.add(orders.stream().map(AcceptedOrder::orderId).toList());
+            return null;
+        }).when(orderService).createAcceptedOrders(anyList());
+    }
+
+    private static OrderRequest request() {
+        return request(UUID.randomUUID().toString());
+    }
+
+    private static OrderRequest request(String customerId) {
+        OrderRequest request = new OrderRequest();
+        request.setCustomerId(customerId);
+        request.setItems(List.of(new OrderItemDto(UUID.randomUUID(), 2)));
+        return request;
+    }
+}
@@ -0,0 +1,123 @@
+package ec.edu.espe.order_service.service;
+
+import ec.edu.espe.order_service.config.BulkIntakeProperties;
+import ec.edu.espe.order_service.dto.OrderRequest;
+import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BulkOrderServiceTest {
+
+    private static final String ITEMS = "\"items\":[{\"productId\":\"a3c2b1d0-6b0e-4f2b-9c1a-2d3f4a5b6c7d\",\"quantity\":2}]";
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final OrderService orderService = mock(OrderService.class);
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @Test
+    void createsNdjsonOrdersInChunksAndReportsInvalidOnes() throws IOException {
+        answerWithPendingOrders();
+        String ndjson = order("c-1") + "\n"
+                + "{\"customerId\":\"c-2\",\"items\":[]}\n"
+                + "{\"customerId\":\"c-3\",\"items\":\"not-a-list\"}\n"
+                + order("c-4") + "\n"
+                + order("c-5") + "\n";
+
+        List<JsonNode> results = run(ndjson, 2);
+
+        assertThat(results).extracting(result -> result.get("index").asInt()).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results.get(0).get("status").asString()).isEqualTo("PENDING");
+        assertThat(results.get(1).get("error").asString()).isEqualTo("items must not be empty");
+        assertThat(results.get(2).get("error").asString()).startsWith("Invalid order");
+        assertThat(results.get(3).get("orderId").asString()).isEqualTo("order-c-4");
+        assertThat(results.get(4).get("orderId").asString()).isEqualTo("order-c-5");
+        // Chunks of two read entries: [c-1, invalid], [invalid, c-4], [c-5]
+        assertThat(chunkSizes).containsExactly(1, 1, 1);
+    }
+
+    @Test
+    void acceptsJsonArray() throws IOException {
+        answerWithPendingOrders();
+
+        List<JsonNode> results = run("[" + order("c-1") + "," + order("c-2") + "]", 500);
+
+        assertThat(results).extracting(result -> result.get("orderId").asString()).containsExactly("order-c-1", "order-c-2");
+        assertThat(chunkSizes).containsExactly(2);
+    }
+
+    @Test
+    void stopsAtMalformedJson() throws IOException {
+        answerWithPendingOrders();
+
+        List<JsonNode> results = run(order("c-1") + "\n{\"customerId\": \n", 500);
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).get("orderId").asString()).isEqualTo("order-c-1");
+        assertThat(results.get(1).get("index").asInt()).isEqualTo(1);
+        assertThat(results.get(1).get("error").asString()).startsWith("Malformed JSON");
+    }
+
+    @Test
+    void fallsBackToOneTransactionPerOrderWhenChunkFails() throws IOException {
+        when(orderService.createOrders(anyList())).thenThrow(new IllegalStateException("constraint violation"));
+        when(orderService.createOrder(any())).thenAnswer(invocation -> {
+            OrderRequest request = invocation.getArgument(0);
+            if (request.getCustomerId().equals("c-2")) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return pending(request);
+        });
+
+        List<JsonNode> results = run(order("c-1") + order("c-2") + order("c-3"), 500);
+
+        assertThat(results.get(0).get("orderId").asString()).isEqualTo("order-c-1");
+        assertThat(results.get(1).get("error").asString()).isEqualTo("Order could not be created");
+        assertThat(results.get(2).get("orderId").asString()).isEqualTo("order-c-3");
+        verify(orderService, times(3)).createOrder(any());
+    }
+
+    private List<JsonNode> run(String body, int chunkSize) throws IOException {
+        BulkIntakeProperties properties = new BulkIntakeProperties();
+        properties.setChunkSize(chunkSize);
+        BulkOrderService service = new BulkOrderService(orderService, jsonMapper, properties);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.createOrders(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        return out.toString(StandardCharsets.UTF_8).lines().map(jsonMapper::readTree).toList();
+    }
+
+    private void answerWithPendingOrders() {
+        when(orderService.createOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderRequest> requests = invocation.getArgument(0);
+            chunkSizes.add(requests.size());
+            return requests.stream().map(BulkOrderServiceTest::pending).toList();
+        });
+    }
+
+    private static OrderResponse pending(OrderRequest request) {
+        return OrderResponse.builder()
+                .orderId("order-" + request.getCustomerId())
+                .customerId(request.getCustomerId())
+                .status(OrderStatus.PENDING)
+                .build();
+    }
+
+    private static String order(String customerId) {
+        return "{\"customerId\":\"" + customerId + "\"," + ITEMS + "}";
+    }
+}
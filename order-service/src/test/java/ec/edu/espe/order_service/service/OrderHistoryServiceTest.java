@@ -0,0 +1,83 @@
+package ec.edu.espe.order_service.service;
+
+import ec.edu.espe.order_service.dto.OrderHistoryPage;
+import ec.edu.espe.order_service.dto.OrderItemRow;
+import ec.edu.espe.order_service.dto.OrderSummaryRow;
+import ec.edu.espe.order_service.model.OrderStatus;
+import ec.edu.espe.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderHistoryServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 21, 15, 10, 2, 123456000);
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final OrderHistoryService service = new OrderHistoryService(orderRepository);
+
+    @Test
+    void returnsCursorOfLastOrderWhenThereIsAnotherPage() {
+        when(orderRepository.findHistory(eq("c-1"), isNull(), isNull(), isNull(), isNull(), isNull(), eq(3)))
+                .thenReturn(rows(3));
+
+        OrderHistoryPage page = service.getHistory("c-1", null, null, null, null, 2, false);
+
+        assertThat(page.getOrders()).extracting(order -> order.getOrderId()).containsExactly("o-0", "o-1");
+        assertThat(page.getOrders().get(0).getItems()).isNull();
+        assertThat(page.getNextCursor()).isNotNull();
+
+        // The cursor resumes right after o-1
+        service.getHistory("c-1", OrderStatus.CONFIRMED, null, null, page.getNextCursor(), 2, false);
+        verify(orderRepository).findHistory("c-1", OrderStatus.CONFIRMED, null, null, NOW.minusSeconds(1), "o-1", 3);
+    }
+
+    @Test
+    void lastPageHasNoCursorAndLimitIsCapped() {
+        when(orderRepository.findHistory(any(), any(), any(), any(), any(), any(), anyInt())).thenReturn(rows(1));
+
+        OrderHistoryPage page = service.getHistory("c-1", null, null, null, null, 10_000, false);
+
+        assertThat(page.getNextCursor()).isNull();
+        verify(orderRepository).findHistory("c-1", null, null, null, null, null, OrderHistoryService.MAX_LIMIT + 1);
+    }
+
+    @Test
+    void loadsItemsOfThePageInOneQueryOnlyWhenAsked() {
+        UUID productId = UUID.randomUUID();
+        when(orderRepository.findHistory(any(), any(), any(), any(), any(), any(), anyInt())).thenReturn(rows(2));
+        when(orderRepository.findItemRows(List.of("o-0", "o-1"))).thenReturn(List.of(
+                new OrderItemRow("o-0", productId, 2),
+                new OrderItemRow("o-0", productId, 1)));
+
+        OrderHistoryPage page = service.getHistory("c-1", null, null, null, null, null, true);
+
+        assertThat(page.getOrders().get(0).getItems()).hasSize(2);
+        assertThat(page.getOrders().get(1).getItems()).isEmpty();
+        verify(orderRepository, times(1)).findItemRows(anyCollection());
+    }
+
+    @Test
+    void rejectsForeignCursor() {
+        assertThatThrownBy(() -> service.getHistory("c-1", null, null, null, "not-a-cursor", null, false))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(orderRepository);
+    }
+
+    // Newest first: o-0 at NOW, o-1 one second earlier, ...
+    private static List<OrderSummaryRow> rows(int count) {
+        List<OrderSummaryRow> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new OrderSummaryRow("o-" + i, OrderStatus.CONFIRMED, NOW.minusSeconds(i), NOW.minusSeconds(i)));
+        }
+        return rows;
+    }
+}
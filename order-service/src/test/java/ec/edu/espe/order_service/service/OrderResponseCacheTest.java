@@ -0,0 +1,67 @@
+package ec.edu.espe.order_service.service;
+
+import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderResponseCacheTest {
+
+    private final OrderResponseCache cache = new OrderResponseCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Test
+    void servesPutEntryWithoutLoading() {
+        cache.put(pending("o-1"));
+        AtomicInteger loads = new AtomicInteger();
+
+        OrderResponse response = cache.get("o-1", id -> {
+            loads.incrementAndGet();
+            return pending(id);
+        });
+
+        assertThat(response.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void appliesTransitionToCachedEntryOnly() {
+        cache.put(pending("o-1"));
+        LocalDateTime now = LocalDateTime.now();
+
+        cache.applyTransition("o-1", OrderStatus.CANCELLED, "Insufficient stock", now);
+        cache.applyTransition("o-2", OrderStatus.CONFIRMED, null, now);
+
+        OrderResponse cancelled = cache.get("o-1", id -> pending(id));
+        assertThat(cancelled.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(cancelled.getReason()).isEqualTo("Insufficient stock");
+        assertThat(cancelled.getUpdatedAt()).isEqualTo(now);
+        // Absent entries are not created by a transition
+        assertThat(cache.get("o-2", id -> pending(id)).getStatus()).isEqualTo(OrderStatus.PENDING);
+    }
+
+    @Test
+    void reloadsAfterInvalidate() {
+        cache.put(pending("o-1"));
+
+        cache.invalidate(List.of("o-1"));
+
+        OrderResponse reloaded = cache.get("o-1", id -> pending(id).toBuilder().status(OrderStatus.CONFIRMED).build());
+        assertThat(reloaded.getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+    }
+
+    private static OrderResponse pending(String orderId) {
+        return OrderResponse.builder()
+                .orderId(orderId)
+                .customerId("c-1")
+                .status(OrderStatus.PENDING)
+                .items(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package ec.edu.espe.order_service.service;
+
+import ec.edu.espe.order_service.dto.OrderResponse;
+import ec.edu.espe.order_service.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatusWaitersTest {
+
+    private final OrderStatusWaiters waiters = new OrderStatusWaiters(new SimpleMeterRegistry());
+
+    @Test
+    void answersImmediatelyWhenAlreadyFinal() {
+        DeferredResult<OrderResponse> result = waiters.await("o-1", Duration.ofSeconds(5), id -> order(id, OrderStatus.CONFIRMED));
+
+        assertThat(statusOf(result)).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(waiters.hasWaiters("o-1")).isFalse();
+    }
+
+    @Test
+    void parksUntilCompleted() {
+        DeferredResult<OrderResponse> result = waiters.await("o-1", Duration.ofSeconds(5), id -> order(id, OrderStatus.PENDING));
+        assertThat(result.hasResult()).isFalse();
+        assertThat(waiters.hasWaiters("o-1")).isTrue();
+
+        waiters.complete("o-1", order("o-1", OrderStatus.CANCELLED));
+
+        assertThat(statusOf(result)).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(waiters.hasWaiters("o-1")).isFalse();
+    }
+
+    @Test
+    void recheckCatchesTransitionBeforeRegistration() {
+        // First read sees PENDING, the order moves, the second read sees it final
+        AtomicReference<OrderStatus> status = new AtomicReference<>(OrderStatus.PENDING);
+        DeferredResult<OrderResponse> result = waiters.await("o-1", Duration.ofSeconds(5), id -> {
+            OrderResponse response = order(id, status.get());
+            status.set(OrderStatus.CONFIRMED);
+            return response;
+        });
+
+        assertThat(statusOf(result)).isEqualTo(OrderStatus.CONFIRMED);
+    }
+
+    private static OrderStatus statusOf(DeferredResult<OrderResponse> result) {
+        return ((OrderResponse) result.getResult()).getStatus();
+    }
+
+    private static OrderResponse order(String orderId, OrderStatus status) {
+        return OrderResponse.builder().orderId(orderId).status(status).items(List.of()).build();
+    }
+}